@@ -0,0 +1,66 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64 of a JPEG-sized payload (about 2 bits per pixel) in both
+ * directions, the content hash taken of decoded input for the result cache,
+ * and the JDK codec for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Base64CodecBenchmark {
+
+    @Param({ "640x480", "1280x960", "1920x1440" })
+    public String resolution;
+
+    private byte[] jpeg;
+    private String encoded;
+    private String dataUri;
+
+    @Setup
+    public void setUp() {
+        Resolution size = Resolution.parse(resolution);
+        jpeg = new byte[size.width * size.height / 4];
+        new Random(1).nextBytes(jpeg);
+        encoded = Base64.getEncoder().encodeToString(jpeg);
+        dataUri = "data:image/jpeg;base64," + encoded;
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base64Codec.encode(jpeg, 0, jpeg.length);
+    }
+
+    @Benchmark
+    public byte[] decodeDataUri() {
+        return Base64Codec.decode(dataUri);
+    }
+
+    @Benchmark
+    public String contentKey() {
+        return ResultCache.contentKey(jpeg);
+    }
+
+    @Benchmark
+    public String jdkEncode() {
+        return Base64.getEncoder().encodeToString(jpeg);
+    }
+
+    @Benchmark
+    public byte[] jdkDecode() {
+        return Base64.getDecoder().decode(encoded);
+    }
+}
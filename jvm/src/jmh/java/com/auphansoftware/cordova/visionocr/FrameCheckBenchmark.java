@@ -0,0 +1,62 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The checks every analysis frame goes through before recognition: the
+ * camera warm-up test and the change detector. Alternates two frames so the
+ * change detector computes a score each time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameCheckBenchmark {
+
+    @Param({ "640x480", "1280x960", "1920x1440" })
+    public String resolution;
+
+    private int width;
+    private int height;
+    private byte[][] frames;
+    private FrameChangeDetector changeDetector;
+    private WarmupDetector warmupDetector;
+    private long timestampNanos;
+
+    @Setup
+    public void setUp() {
+        Resolution size = Resolution.parse(resolution);
+        width = size.width;
+        height = size.height;
+        Random random = new Random(1);
+        frames = new byte[2][width * height];
+        random.nextBytes(frames[0]);
+        random.nextBytes(frames[1]);
+        changeDetector = new FrameChangeDetector(1000, 0);
+        // Never settles on noise and never times out: measures the full check every frame
+        warmupDetector = new WarmupDetector(Integer.MAX_VALUE, Long.MAX_VALUE / 1_000_000L);
+    }
+
+    @Benchmark
+    public boolean changeDetector() {
+        timestampNanos += 33_000_000L;
+        byte[] frame = frames[(int) (timestampNanos & 1)];
+        return changeDetector.shouldProcess(frame, width, width, height, timestampNanos);
+    }
+
+    @Benchmark
+    public boolean warmupDetector() {
+        timestampNanos += 33_000_000L;
+        byte[] frame = frames[(int) ((timestampNanos / 33_000_000L) & 1)];
+        return warmupDetector.update(frame, width, width, height, timestampNanos);
+    }
+}
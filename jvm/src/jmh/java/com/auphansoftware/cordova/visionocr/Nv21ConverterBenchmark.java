@@ -0,0 +1,99 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YUV_420_888 to NV21 as the analyzer runs it, for the two chroma layouts
+ * CameraX delivers: separate planes and one interleaved VU buffer. Rows are
+ * padded like real camera buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Nv21ConverterBenchmark {
+
+    private static final int ROW_PADDING = 64;
+
+    @Param({ "640x480", "1280x960", "1920x1440" })
+    public String resolution;
+
+    @Param({ "planar", "interleaved" })
+    public String layout;
+
+    private int width;
+    private int height;
+    private ByteBuffer y;
+    private ByteBuffer u;
+    private ByteBuffer v;
+    private int yRowStride;
+    private int uvRowStride;
+    private int uvPixelStride;
+    private byte[] out;
+    private int[] center;
+
+    @Setup
+    public void setUp() {
+        Resolution size = Resolution.parse(resolution);
+        width = size.width;
+        height = size.height;
+        Random random = new Random(1);
+
+        yRowStride = width + ROW_PADDING;
+        byte[] luma = new byte[yRowStride * height];
+        random.nextBytes(luma);
+        y = ByteBuffer.allocateDirect(luma.length);
+        y.put(luma).clear();
+
+        int chromaHeight = height / 2;
+        if ("interleaved".equals(layout)) {
+            uvPixelStride = 2;
+            uvRowStride = width + ROW_PADDING;
+            byte[] vu = new byte[uvRowStride * chromaHeight];
+            random.nextBytes(vu);
+            ByteBuffer shared = ByteBuffer.allocateDirect(vu.length);
+            shared.put(vu).clear();
+            int length = uvRowStride * (chromaHeight - 1) + width - 1;
+            shared.limit(length);
+            v = shared.slice();
+            shared.position(1).limit(length + 1);
+            u = shared.slice();
+        } else {
+            uvPixelStride = 1;
+            uvRowStride = width / 2 + ROW_PADDING;
+            byte[] plane = new byte[uvRowStride * chromaHeight];
+            random.nextBytes(plane);
+            u = ByteBuffer.allocateDirect(plane.length);
+            u.put(plane).clear();
+            random.nextBytes(plane);
+            v = ByteBuffer.allocateDirect(plane.length);
+            v.put(plane).clear();
+        }
+
+        out = new byte[Nv21Converter.nv21Size(width, height)];
+        center = Roi.of(0.25, 0.25, 0.5, 0.5).toPixels(width, height, 2);
+    }
+
+    @Benchmark
+    public byte[] convert() {
+        Nv21Converter.convert(y, yRowStride, u, v, uvRowStride, uvPixelStride, width, height, out);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] convertCenterRegion() {
+        Nv21Converter.convertRegion(y, yRowStride, u, v, uvRowStride, uvPixelStride, width,
+                center[0], center[1], center[2], center[3], out);
+        return out;
+    }
+}
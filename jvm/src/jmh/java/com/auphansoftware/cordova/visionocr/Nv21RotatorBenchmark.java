@@ -0,0 +1,47 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Rotating an NV21 frame upright, as done before encoding a portrait frame. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Nv21RotatorBenchmark {
+
+    @Param({ "640x480", "1280x960", "1920x1440" })
+    public String resolution;
+
+    @Param({ "90", "180" })
+    public int degrees;
+
+    private int width;
+    private int height;
+    private byte[] nv21;
+    private byte[] out;
+
+    @Setup
+    public void setUp() {
+        Resolution size = Resolution.parse(resolution);
+        width = size.width;
+        height = size.height;
+        nv21 = new byte[Nv21Converter.nv21Size(width, height)];
+        new Random(1).nextBytes(nv21);
+        out = new byte[nv21.length];
+    }
+
+    @Benchmark
+    public byte[] rotate() {
+        Nv21Rotator.rotate(nv21, width, height, degrees, out);
+        return out;
+    }
+}
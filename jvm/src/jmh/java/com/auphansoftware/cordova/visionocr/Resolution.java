@@ -0,0 +1,19 @@
+package com.auphansoftware.cordova.visionocr;
+
+/** Parses the {@code WIDTHxHEIGHT} resolution parameter of the benchmarks. */
+final class Resolution {
+
+    final int width;
+    final int height;
+
+    private Resolution(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    static Resolution parse(String value) {
+        int separator = value.indexOf('x');
+        return new Resolution(Integer.parseInt(value.substring(0, separator)),
+                Integer.parseInt(value.substring(separator + 1)));
+    }
+}
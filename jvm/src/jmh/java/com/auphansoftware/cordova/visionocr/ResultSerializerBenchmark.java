@@ -0,0 +1,59 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dense page at element granularity as a nested JSON result and as the
+ * columnar header plus binary data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultSerializerBenchmark {
+
+    private static final int ELEMENTS_PER_LINE = 6;
+
+    @Param({ "20", "200" })
+    public int lines;
+
+    private List<OcrNode> nodes;
+
+    @Setup
+    public void setUp() {
+        nodes = new ArrayList<>();
+        nodes.add(new OcrNode(OcrNode.BLOCK, -1, "block", 0.9f, 0.05, 0.05, 0.9, 0.9));
+        for (int line = 0; line < lines; line++) {
+            double y = 0.05 + 0.9 * line / lines;
+            int lineIndex = nodes.size();
+            nodes.add(new OcrNode(OcrNode.LINE, 0, "Line " + line + " of the page", 0.9f, 0.05, y, 0.9, 0.004));
+            for (int element = 0; element < ELEMENTS_PER_LINE; element++) {
+                nodes.add(new OcrNode(OcrNode.ELEMENT, lineIndex, "word" + element, 0.85f,
+                        0.05 + 0.15 * element, y, 0.12, 0.004));
+            }
+        }
+    }
+
+    @Benchmark
+    public String json() throws JSONException {
+        return ResultSerializer.nodesToJson(nodes, 1920, 1440).toString();
+    }
+
+    @Benchmark
+    public Object columnar() throws JSONException {
+        JSONObject header = ResultSerializer.columnarHeader(nodes, 1920, 1440);
+        return new Object[] { header.toString(), ResultSerializer.columnarData(nodes) };
+    }
+}
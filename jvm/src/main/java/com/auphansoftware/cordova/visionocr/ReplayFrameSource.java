@@ -0,0 +1,137 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Plays back a recording of NV21 frames as a {@link FrameSource}.
+ *
+ * A recording is the 8-byte header {@code VOCRFRM1} followed by one record
+ * per frame: width, height and rotation degrees (int32), timestamp in
+ * nanoseconds (int64), byte count (int32) and the NV21 bytes, all big-endian
+ * as written by {@link #writeHeader} / {@link #writeFrame}. A {@link Pacer}
+ * decides when each frame is delivered: in real time, or driven by a
+ * simulated clock.
+ */
+public final class ReplayFrameSource implements FrameSource {
+
+    private static final byte[] MAGIC = { 'V', 'O', 'C', 'R', 'F', 'R', 'M', '1' };
+
+    /** Called before each frame is delivered, with the frame's timestamp. */
+    public interface Pacer {
+        void awaitFrame(long timestampNanos) throws InterruptedException;
+    }
+
+    /** Delivers frames at their recorded spacing divided by {@code speed}. */
+    public static Pacer realTime(final double speed) {
+        return new Pacer() {
+            private long firstTimestamp = -1;
+            private long startNanos;
+
+            @Override
+            public void awaitFrame(long timestampNanos) throws InterruptedException {
+                if (firstTimestamp < 0) {
+                    firstTimestamp = timestampNanos;
+                    startNanos = System.nanoTime();
+                    return;
+                }
+                long due = startNanos + (long) ((timestampNanos - firstTimestamp) / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            }
+        };
+    }
+
+    private final File recording;
+    private final Pacer pacer;
+    private volatile boolean stopped = false;
+    private Thread thread;
+
+    public ReplayFrameSource(File recording, Pacer pacer) {
+        this.recording = recording;
+        this.pacer = pacer;
+    }
+
+    /** Replays on a background thread. */
+    @Override
+    public synchronized void start(final Sink sink) {
+        stopped = false;
+        thread = new Thread(() -> {
+            try {
+                run(sink);
+            } catch (IOException | InterruptedException e) {
+                // End of replay
+            }
+        }, "VisionOCR-replay");
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /** Replays on the calling thread until the recording ends; returns the number of frames delivered. */
+    public int run(Sink sink) throws IOException, InterruptedException {
+        int delivered = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(recording)))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) throw new IOException("Not a frame recording: " + recording);
+            }
+
+            while (!stopped) {
+                int width;
+                try {
+                    width = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int height = in.readInt();
+                int rotation = in.readInt();
+                long timestamp = in.readLong();
+                int length = in.readInt();
+                if (length != Nv21Converter.nv21Size(width, height)) {
+                    throw new IOException("Frame size does not match " + width + "x" + height);
+                }
+
+                byte[] nv21 = sink.obtainBuffer(width, height);
+                try {
+                    in.readFully(nv21, 0, length);
+                    pacer.awaitFrame(timestamp);
+                } catch (IOException | InterruptedException e) {
+                    sink.discardBuffer(nv21);
+                    throw e;
+                }
+                sink.onFrame(nv21, width, height, rotation, timestamp);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(MAGIC);
+    }
+
+    public static void writeFrame(DataOutputStream out, byte[] nv21, int width, int height,
+                                  int rotationDegrees, long timestampNanos) throws IOException {
+        int length = Nv21Converter.nv21Size(width, height);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(rotationDegrees);
+        out.writeLong(timestampNanos);
+        out.writeInt(length);
+        out.write(nv21, 0, length);
+    }
+}
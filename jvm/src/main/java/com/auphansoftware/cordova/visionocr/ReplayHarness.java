@@ -0,0 +1,217 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs a frame recording through the {@link AnalysisPipeline} on the JVM, with
+ * a {@link SimulatedRecognizer} in place of ML Kit, and reports throughput,
+ * end-to-end latency and skipped/dropped frames.
+ *
+ * Frames are delivered by their recorded timestamps on a simulated clock, so
+ * the same recording and options always give the same report — useful for
+ * checking warm-up, change detection, rate scheduling and fusion on machines
+ * without a camera.
+ *
+ * <pre>
+ * gradle -p jvm replay --args='(RECORDING | --synthetic FRAMES) [--latency-ms 150] [--error-rate 0.02]
+ *     [--seed 1] [--warmup-timeout-ms 1500] [--scene FILE] [--options JSON]'
+ * </pre>
+ *
+ * A scene file has one line per text line: {@code x y width height text},
+ * with the box normalized to the image.
+ */
+public final class ReplayHarness {
+
+    /** Outcome of one replay. */
+    public static final class Report {
+        public long frames;
+        public long recognitions;
+        public long results;
+        public long skippedWarmup;
+        public double warmupMs;
+        public String warmupReason = "";
+        public long skippedBusy;
+        public long skippedRate;
+        public long skippedUnchanged;
+        public long dropped;
+        public long durationNanos;
+        public long[] latenciesNanos = new long[0];
+
+        public double resultsPerSecond() {
+            return durationNanos > 0 ? results * 1e9 / durationNanos : 0;
+        }
+
+        public double recognitionsPerSecond() {
+            return durationNanos > 0 ? recognitions * 1e9 / durationNanos : 0;
+        }
+
+        /** End-to-end latency percentile in milliseconds: frame timestamp to result, simulated time. */
+        public double latencyMs(double fraction) {
+            return StageMetrics.percentile(latenciesNanos, fraction) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "frames             %d%n"
+                            + "warm-up            %.1f ms (%s)%n"
+                            + "skipped warm-up    %d%n"
+                            + "skipped busy       %d%n"
+                            + "skipped rate       %d%n"
+                            + "skipped unchanged  %d%n"
+                            + "dropped by source  %d%n"
+                            + "recognitions       %d (%.1f/s)%n"
+                            + "results            %d (%.1f/s)%n"
+                            + "duration           %.2f s%n"
+                            + "latency p50/p95/p99  %.1f / %.1f / %.1f ms%n",
+                    frames, warmupMs, warmupReason, skippedWarmup, skippedBusy, skippedRate, skippedUnchanged,
+                    dropped, recognitions, recognitionsPerSecond(), results, resultsPerSecond(),
+                    durationNanos / 1e9, latencyMs(0.50), latencyMs(0.95), latencyMs(0.99));
+        }
+    }
+
+    /** Frames the synthetic recording takes to reach full brightness. */
+    private static final int SYNTHETIC_EXPOSURE_FRAMES = 12;
+
+    private ReplayHarness() {}
+
+    /** Replays {@code recording} through a fresh pipeline started with {@code options}. */
+    public static Report run(File recording, JSONObject options, SimulatedRecognizer recognizer,
+                             long warmupTimeoutMs) throws IOException, InterruptedException {
+        StageMetrics metrics = new StageMetrics();
+        FrameStore frameStore = new FrameStore(new FrameBufferPool(3));
+        AnalysisPipeline pipeline = new AnalysisPipeline(frameStore, recognizer, metrics, Runnable::run,
+                warmupTimeoutMs, recognizer::now);
+
+        final List<Long> latencies = new ArrayList<>();
+        pipeline.start(options, (result, frame) -> latencies.add(recognizer.now() - frame.timestampNanos));
+
+        final long[] firstAndLast = { -1, 0 };
+        ReplayFrameSource source = new ReplayFrameSource(recording, timestampNanos -> {
+            if (firstAndLast[0] < 0) firstAndLast[0] = timestampNanos;
+            firstAndLast[1] = timestampNanos;
+            recognizer.advanceTo(timestampNanos);
+        });
+        source.run(pipeline);
+        recognizer.advanceTo(Long.MAX_VALUE); // let the last recognition finish
+        pipeline.stop();
+
+        Report report = new Report();
+        report.frames = metrics.counter("analyzer.frames");
+        report.recognitions = recognizer.calls();
+        report.results = metrics.counter("analyzer.results");
+        report.skippedWarmup = metrics.counter("analyzer.skippedWarmup");
+        report.warmupMs = pipeline.warmupDetector().warmupMs();
+        report.warmupReason = pipeline.warmupDetector().reason().name().toLowerCase(Locale.ROOT);
+        report.skippedBusy = metrics.counter("analyzer.skippedBusy");
+        report.skippedRate = metrics.counter("analyzer.skippedRate");
+        report.skippedUnchanged = metrics.counter("analyzer.skippedUnchanged");
+        report.dropped = metrics.counter("analyzer.dropped");
+        report.durationNanos = Math.max(0, firstAndLast[1] - Math.max(0, firstAndLast[0]));
+        report.latenciesNanos = new long[latencies.size()];
+        for (int i = 0; i < latencies.size(); i++) {
+            report.latenciesNanos[i] = latencies.get(i);
+        }
+        Arrays.sort(report.latenciesNanos);
+        return report;
+    }
+
+    /**
+     * Writes a synthetic 640x480 recording at 30 fps: a textured background
+     * whose pattern shifts every two seconds, so change detection sees both
+     * still and changing stretches. The first frames brighten from black the
+     * way they do while auto-exposure converges, so warm-up has something to
+     * detect.
+     */
+    public static void writeSyntheticRecording(File file, int frames) throws IOException {
+        int width = 640;
+        int height = 480;
+        long frameIntervalNanos = 33_333_333L;
+        byte[] nv21 = new byte[Nv21Converter.nv21Size(width, height)];
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            ReplayFrameSource.writeHeader(out);
+            for (int i = 0; i < frames; i++) {
+                int shift = (i / 60) * 37;
+                int exposure = Math.min(i, SYNTHETIC_EXPOSURE_FRAMES);
+                byte dark = (byte) (40 * exposure / SYNTHETIC_EXPOSURE_FRAMES);
+                byte light = (byte) (215 * exposure / SYNTHETIC_EXPOSURE_FRAMES);
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        nv21[y * width + x] = (((x + shift) / 20) + (y / 20)) % 2 == 0 ? dark : light;
+                    }
+                }
+                Arrays.fill(nv21, width * height, nv21.length, (byte) 128);
+                ReplayFrameSource.writeFrame(out, nv21, width, height, 90, i * frameIntervalNanos);
+            }
+        }
+    }
+
+    /** Scene lines from a file of {@code x y width height text} rows, or a small default document. */
+    static List<OcrLine> loadScene(File file) throws IOException {
+        List<OcrLine> scene = new ArrayList<>();
+        if (file == null) {
+            scene.add(new OcrLine("INVOICE 2024-0193", 0.92f, 0.10, 0.10, 0.50, 0.05));
+            scene.add(new OcrLine("TOTAL DUE 1284.50", 0.88f, 0.10, 0.20, 0.45, 0.05));
+            scene.add(new OcrLine("billing@example.com", 0.81f, 0.10, 0.30, 0.55, 0.05));
+            return scene;
+        }
+        for (String row : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            String[] parts = row.trim().split("\\s+", 5);
+            if (parts.length < 5) continue;
+            scene.add(new OcrLine(parts[4], 0.9f, Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                    Double.parseDouble(parts[2]), Double.parseDouble(parts[3])));
+        }
+        return scene;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, JSONException {
+        File recording = null;
+        int syntheticFrames = 0;
+        long latencyMs = 150;
+        double errorRate = 0.02;
+        long seed = 1;
+        long warmupTimeoutMs = WarmupDetector.DEFAULT_TIMEOUT_MS;
+        File sceneFile = null;
+        JSONObject options = new JSONObject();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--synthetic":  syntheticFrames = Integer.parseInt(args[++i]); break;
+                case "--latency-ms": latencyMs = Long.parseLong(args[++i]); break;
+                case "--error-rate": errorRate = Double.parseDouble(args[++i]); break;
+                case "--seed":       seed = Long.parseLong(args[++i]); break;
+                case "--warmup-timeout-ms": warmupTimeoutMs = Long.parseLong(args[++i]); break;
+                case "--scene":      sceneFile = new File(args[++i]); break;
+                case "--options":    options = new JSONObject(args[++i]); break;
+                default:             recording = new File(args[i]);
+            }
+        }
+
+        if (syntheticFrames > 0) {
+            recording = File.createTempFile("visionocr-synthetic", ".frames");
+            recording.deleteOnExit();
+            writeSyntheticRecording(recording, syntheticFrames);
+        }
+        if (recording == null) {
+            System.err.println("Usage: ReplayHarness (RECORDING | --synthetic FRAMES) [--latency-ms N]"
+                    + " [--error-rate R] [--seed N] [--warmup-timeout-ms N] [--scene FILE] [--options JSON]");
+            System.exit(2);
+        }
+
+        SimulatedRecognizer recognizer = new SimulatedRecognizer(loadScene(sceneFile), latencyMs, errorRate, seed);
+        System.out.print(run(recording, options, recognizer, warmupTimeoutMs));
+    }
+}
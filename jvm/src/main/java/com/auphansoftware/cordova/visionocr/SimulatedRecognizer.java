@@ -0,0 +1,95 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A {@link LineRecognizer} for the JVM that "reads" a fixed scene with a fixed
+ * latency on a simulated clock.
+ *
+ * Each call returns the scene's lines with characters substituted at
+ * {@code errorRate}, from a seeded random source. Results are not delivered
+ * on their own: {@link #advanceTo} moves the clock and completes every call
+ * that is due, in order, on the calling thread. Driving it from the frame
+ * timestamps of a replay makes a whole pipeline run deterministic.
+ */
+public final class SimulatedRecognizer implements LineRecognizer {
+
+    private static final String NOISE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final class Pending {
+        final long dueNanos;
+        final Callback callback;
+
+        Pending(long dueNanos, Callback callback) {
+            this.dueNanos = dueNanos;
+            this.callback = callback;
+        }
+    }
+
+    private final List<OcrLine> scene;
+    private final long latencyNanos;
+    private final double errorRate;
+    private final Random random;
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private long nowNanos = 0;
+    private long calls = 0;
+
+    public SimulatedRecognizer(List<OcrLine> scene, long latencyMs, double errorRate, long seed) {
+        this.scene = new ArrayList<>(scene);
+        this.latencyNanos = latencyMs * 1_000_000L;
+        this.errorRate = errorRate;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public synchronized void recognize(byte[] nv21, int width, int height, int rotationDegrees, Callback callback) {
+        calls++;
+        pending.addLast(new Pending(nowNanos + latencyNanos, callback));
+    }
+
+    /** Moves the clock to {@code timeNanos}, completing every call due by then. */
+    public void advanceTo(long timeNanos) {
+        while (true) {
+            Pending next;
+            List<OcrLine> lines;
+            synchronized (this) {
+                next = pending.peekFirst();
+                if (next == null || next.dueNanos > timeNanos) {
+                    nowNanos = Math.max(nowNanos, timeNanos);
+                    return;
+                }
+                pending.removeFirst();
+                nowNanos = next.dueNanos;
+                lines = read();
+            }
+            next.callback.onSuccess(lines);
+        }
+    }
+
+    /** Current simulated time. */
+    public synchronized long now() {
+        return nowNanos;
+    }
+
+    /** Number of recognize calls so far. */
+    public synchronized long calls() {
+        return calls;
+    }
+
+    private List<OcrLine> read() {
+        List<OcrLine> lines = new ArrayList<>(scene.size());
+        for (OcrLine line : scene) {
+            char[] text = line.text.toCharArray();
+            for (int i = 0; i < text.length; i++) {
+                if (text[i] != ' ' && random.nextDouble() < errorRate) {
+                    text[i] = NOISE.charAt(random.nextInt(NOISE.length()));
+                }
+            }
+            lines.add(new OcrLine(new String(text), line.confidence, line.x, line.y, line.width, line.height));
+        }
+        return lines;
+    }
+}
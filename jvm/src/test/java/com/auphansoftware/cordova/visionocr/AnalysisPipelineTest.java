@@ -0,0 +1,140 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnalysisPipelineTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+
+    private final ExecutorService recognizerThreads = Executors.newFixedThreadPool(4);
+    private final ExecutorService resultThreads = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDown() {
+        recognizerThreads.shutdownNow();
+        resultThreads.shutdownNow();
+    }
+
+    @Test
+    public void emitsOneAtATimeInFrameOrder() throws Exception {
+        // Each frame is "read" as its own timestamp, on another thread
+        LineRecognizer recognizer = (nv21, width, height, rotation, callback) -> {
+            final String text = "frame " + (nv21[0] & 0xFF);
+            recognizerThreads.execute(() -> callback.onSuccess(Collections.singletonList(
+                    new OcrLine(text, 0.9f, 0.1, 0.1, 0.5, 0.1))));
+        };
+        AnalysisPipeline pipeline = new AnalysisPipeline(new FrameStore(new FrameBufferPool(3)), recognizer,
+                new StageMetrics(), resultThreads, 0);
+
+        final AtomicBoolean inListener = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final List<Long> timestamps = Collections.synchronizedList(new ArrayList<Long>());
+        pipeline.start(new JSONObject("{\"targetFps\":0,\"changeThreshold\":0}"), (result, frame) -> {
+            if (!inListener.compareAndSet(false, true)) overlapped.set(true);
+            timestamps.add(frame.timestampNanos);
+            sleep(2);
+            inListener.set(false);
+        });
+
+        for (int i = 1; i <= 200; i++) {
+            byte[] nv21 = pipeline.obtainBuffer(WIDTH, HEIGHT);
+            Arrays.fill(nv21, (byte) i);
+            pipeline.onFrame(nv21, WIDTH, HEIGHT, 0, i * 1_000_000L);
+            sleep(1);
+        }
+        resultThreads.shutdown();
+        resultThreads.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertFalse(overlapped.get());
+        assertTrue(timestamps.size() > 1);
+        List<Long> sorted = new ArrayList<>(timestamps);
+        Collections.sort(sorted);
+        assertEquals(sorted, timestamps);
+    }
+
+    @Test
+    public void nextRecognitionWaitsForTheEmit() throws Exception {
+        List<LineRecognizer.Callback> pending = new ArrayList<>();
+        LineRecognizer recognizer = (nv21, width, height, rotation, callback) -> pending.add(callback);
+        List<Runnable> emits = new ArrayList<>();
+        StageMetrics metrics = new StageMetrics();
+        AnalysisPipeline pipeline = new AnalysisPipeline(new FrameStore(new FrameBufferPool(3)), recognizer,
+                metrics, emits::add, 0);
+        pipeline.start(new JSONObject("{\"targetFps\":0,\"changeThreshold\":0}"), (result, frame) -> { });
+
+        pipeline.onFrame(pipeline.obtainBuffer(WIDTH, HEIGHT), WIDTH, HEIGHT, 0, 1);
+        pending.get(0).onSuccess(Collections.<OcrLine>emptyList());
+        pipeline.onFrame(pipeline.obtainBuffer(WIDTH, HEIGHT), WIDTH, HEIGHT, 0, 2);
+        assertEquals(1, pending.size());
+        assertEquals(1, metrics.counter("analyzer.skippedBusy"));
+
+        emits.get(0).run();
+        pipeline.onFrame(pipeline.obtainBuffer(WIDTH, HEIGHT), WIDTH, HEIGHT, 0, 3);
+        assertEquals(2, pending.size());
+    }
+
+    @Test
+    public void listenerGetsTheRecognizedFrameNotTheLatest() throws Exception {
+        List<LineRecognizer.Callback> pending = new ArrayList<>();
+        LineRecognizer recognizer = (nv21, width, height, rotation, callback) -> pending.add(callback);
+        FrameStore frameStore = new FrameStore(new FrameBufferPool(3));
+        AnalysisPipeline pipeline = new AnalysisPipeline(frameStore, recognizer, new StageMetrics(), Runnable::run, 0);
+        final List<Byte> seen = new ArrayList<>();
+        pipeline.start(new JSONObject("{\"targetFps\":0,\"changeThreshold\":0,"
+                + "\"roi\":{\"x\":0.25,\"y\":0.25,\"width\":0.5,\"height\":0.5}}"),
+                (result, frame) -> seen.add(frame.nv21[0]));
+
+        for (int i = 1; i <= 3; i++) {
+            byte[] nv21 = pipeline.obtainBuffer(WIDTH, HEIGHT);
+            Arrays.fill(nv21, (byte) i);
+            pipeline.onFrame(nv21, WIDTH, HEIGHT, 0, i);
+        }
+        pending.get(0).onSuccess(Collections.<OcrLine>emptyList());
+        assertEquals(Collections.singletonList((byte) 1), seen);
+        assertEquals(3, frameStore.acquire().nv21[0]);
+    }
+
+    @Test
+    public void warmupIsTimedFromCameraBind() {
+        final long[] now = { 1_000_000_000L };
+        LineRecognizer recognizer = (nv21, width, height, rotation, callback) -> { };
+        AnalysisPipeline pipeline = new AnalysisPipeline(new FrameStore(new FrameBufferPool(3)), recognizer,
+                new StageMetrics(), Runnable::run, 1500, () -> now[0]);
+        pipeline.reset();
+        pipeline.startWarmup();
+
+        // Sensor timestamps are on their own time base; warm-up uses the pipeline clock
+        now[0] += 400_000_000L;
+        for (int i = 0; !pipeline.warmupDetector().isReady(); i++) {
+            byte[] nv21 = pipeline.obtainBuffer(WIDTH, HEIGHT);
+            Arrays.fill(nv21, (byte) 128);
+            pipeline.onFrame(nv21, WIDTH, HEIGHT, 0, 77_000_000_000L + i * 33_000_000L);
+            now[0] += 33_000_000L;
+        }
+        assertEquals(400_000_000L + 3 * 33_000_000L, pipeline.warmupDetector().warmupNanos());
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
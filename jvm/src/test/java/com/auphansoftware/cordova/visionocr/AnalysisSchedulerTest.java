@@ -0,0 +1,74 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnalysisSchedulerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void throttlesToTheTargetRate() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(10, false);
+        assertEquals(AnalysisScheduler.Decision.RUN, scheduler.check(0));
+        assertTrue(scheduler.begin(0));
+        scheduler.end(20 * MS);
+        assertEquals(AnalysisScheduler.Decision.THROTTLED, scheduler.check(50 * MS));
+        assertEquals(AnalysisScheduler.Decision.RUN, scheduler.check(100 * MS));
+        assertEquals(1, scheduler.skippedThrottled());
+    }
+
+    @Test
+    public void skipsWhileARecognitionIsInFlight() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(0, false);
+        assertTrue(scheduler.begin(0));
+        assertFalse(scheduler.begin(MS));
+        assertEquals(AnalysisScheduler.Decision.BUSY, scheduler.check(MS));
+        scheduler.cancel();
+        assertEquals(AnalysisScheduler.Decision.RUN, scheduler.check(2 * MS));
+        assertEquals(1, scheduler.skippedBusy());
+        assertEquals(1, scheduler.started());
+    }
+
+    @Test
+    public void adaptsToSlowInferenceAndRecovers() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(10, true);
+        assertEquals(10, scheduler.currentFps(), 1e-9);
+
+        scheduler.begin(0);
+        scheduler.end(300 * MS);
+        assertEquals(AnalysisScheduler.MAX_DUTY_CYCLE / 0.3, scheduler.currentFps(), 1e-9);
+
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            now += 1000 * MS;
+            scheduler.begin(now);
+            scheduler.end(10 * MS);
+        }
+        assertEquals(10, scheduler.currentFps(), 1e-9);
+    }
+
+    @Test
+    public void fixedRateIgnoresLatency() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(10, false);
+        scheduler.begin(0);
+        scheduler.end(900 * MS);
+        assertEquals(10, scheduler.currentFps(), 1e-9);
+        assertEquals(900, scheduler.latencyMs(), 1e-9);
+    }
+
+    @Test
+    public void resetCountersKeepsTheRate() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(10, true);
+        scheduler.begin(0);
+        scheduler.check(MS);
+        scheduler.end(300 * MS);
+        scheduler.resetCounters();
+        assertEquals(0, scheduler.started());
+        assertEquals(0, scheduler.skippedBusy());
+        assertEquals(300, scheduler.latencyMs(), 1e-9);
+    }
+}
@@ -0,0 +1,57 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class Base64CodecTest {
+
+    @Test
+    public void roundTripsLikeTheJdk() {
+        Random random = new Random(11);
+        for (int length = 0; length < 70; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String encoded = Base64Codec.encode(data, 0, data.length);
+            assertEquals(Base64.getEncoder().encodeToString(data), encoded);
+            assertArrayEquals(data, Base64Codec.decode(encoded));
+        }
+    }
+
+    @Test
+    public void encodesASlice() {
+        byte[] data = "xxhello".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("aGVsbG8=", Base64Codec.encode(data, 2, 5));
+    }
+
+    @Test
+    public void decodesDataUrisWhitespaceAndUrlSafeInput() {
+        assertEquals("hello", decode("data:image/jpeg;base64,aGVsbG8="));
+        assertEquals("hello", decode("aGVs\r\nbG8=\n"));
+        assertEquals("hello", decode("aGVsbG8"));
+        assertArrayEquals(new byte[] { (byte) 0xFB, (byte) 0xFF }, Base64Codec.decode("-_8="));
+    }
+
+    @Test
+    public void rejectsMalformedInput() {
+        String[] malformed = { "ab=c", "YQ=", "YWJj=", "YQ===", "YQ==YQ==", "YW*j", "Y" };
+        for (String input : malformed) {
+            try {
+                Base64Codec.decode(input);
+                fail("Accepted " + input);
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+
+    private static String decode(String input) {
+        return new String(Base64Codec.decode(input), StandardCharsets.US_ASCII);
+    }
+}
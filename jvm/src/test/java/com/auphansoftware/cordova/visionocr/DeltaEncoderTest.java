@@ -0,0 +1,54 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaEncoderTest {
+
+    @Test
+    public void reportsAddedUpdatedAndRemovedTracks() {
+        LineTracker tracker = new LineTracker(1);
+        DeltaEncoder encoder = new DeltaEncoder();
+
+        List<LineTracker.Track> tracks = tracker.update(Collections.singletonList(line("HELLO", 0.2)));
+        long id = tracks.get(0).id;
+        DeltaEncoder.Delta delta = encoder.diff(tracks);
+        assertEquals(1, delta.added.size());
+        assertTrue(delta.updated.isEmpty());
+
+        // Same text, jitter below the tolerance: nothing to send
+        tracks = tracker.update(Collections.singletonList(line("HELLO", 0.205)));
+        assertTrue(encoder.diff(tracks).isEmpty());
+
+        tracks = tracker.update(Collections.singletonList(line("HELLO", 0.225)));
+        delta = encoder.diff(tracks);
+        assertEquals(1, delta.updated.size());
+        assertEquals(id, delta.updated.get(0).id);
+
+        delta = encoder.diff(Collections.<LineTracker.Track>emptyList());
+        assertEquals(Collections.singletonList(id), delta.removed);
+    }
+
+    @Test
+    public void smallMovesAddUpToAnUpdate() {
+        LineTracker tracker = new LineTracker(1, 1);
+        DeltaEncoder encoder = new DeltaEncoder();
+        encoder.diff(tracker.update(Collections.singletonList(line("HELLO", 0.2))));
+
+        // Each step moves less than the tolerance, but the reference stays put
+        boolean updated = false;
+        for (int i = 1; i <= 6 && !updated; i++) {
+            updated = !encoder.diff(tracker.update(Collections.singletonList(line("HELLO", 0.2 + i * 0.004)))).isEmpty();
+        }
+        assertTrue(updated);
+    }
+
+    private static OcrLine line(String text, double y) {
+        return new OcrLine(text, 0.9f, 0.1, y, 0.5, 0.05);
+    }
+}
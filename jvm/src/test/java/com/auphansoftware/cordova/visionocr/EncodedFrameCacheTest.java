@@ -0,0 +1,44 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EncodedFrameCacheTest {
+
+    private static final FrameEncoding JPEG = FrameEncoding.DEFAULT;
+    private static final FrameEncoding SMALL = new FrameEncoding(FrameEncoding.JPEG, 60, 320, false);
+
+    @Test
+    public void servesEncodingsOfTheCurrentGeneration() {
+        EncodedFrameCache cache = new EncodedFrameCache();
+        assertNull(cache.get(1, JPEG));
+        cache.put(1, JPEG, "full");
+        cache.put(1, SMALL, "small");
+        assertEquals("full", cache.get(1, JPEG));
+        assertEquals("small", cache.get(1, SMALL));
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void aNewerGenerationDropsOlderEncodings() {
+        EncodedFrameCache cache = new EncodedFrameCache();
+        cache.put(1, JPEG, "old");
+        assertNull(cache.get(2, JPEG));
+        cache.put(1, JPEG, "late");
+        assertNull(cache.get(2, JPEG));
+        assertNull(cache.get(1, JPEG));
+    }
+
+    @Test
+    public void keepsAtMostMaxVariants() {
+        EncodedFrameCache cache = new EncodedFrameCache();
+        for (int quality = 1; quality <= EncodedFrameCache.MAX_VARIANTS + 1; quality++) {
+            cache.put(1, new FrameEncoding(FrameEncoding.JPEG, quality, 0, false), "q" + quality);
+        }
+        assertNull(cache.get(1, new FrameEncoding(FrameEncoding.JPEG, 1, 0, false)));
+        assertEquals("q2", cache.get(1, new FrameEncoding(FrameEncoding.JPEG, 2, 0, false)));
+    }
+}
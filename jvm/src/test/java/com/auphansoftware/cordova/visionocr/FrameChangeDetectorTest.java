@@ -0,0 +1,73 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameChangeDetectorTest {
+
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 120;
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void skipsUnchangedFrames() {
+        FrameChangeDetector detector = new FrameChangeDetector(4, 0);
+        byte[] frame = frame(100);
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 0));
+        assertFalse(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 33 * MS));
+        assertFalse(detector.shouldProcess(frame(102), WIDTH, WIDTH, HEIGHT, 66 * MS));
+        assertEquals(2, detector.skippedFrames());
+        assertTrue(detector.shouldProcess(frame(140), WIDTH, WIDTH, HEIGHT, 99 * MS));
+        assertEquals(40, detector.lastScore(), 0.001);
+    }
+
+    @Test
+    public void refreshesAStillSceneAfterTheInterval() {
+        FrameChangeDetector detector = new FrameChangeDetector(4, 500);
+        byte[] frame = frame(100);
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 0));
+        assertFalse(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 499 * MS));
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 500 * MS));
+    }
+
+    @Test
+    public void zeroThresholdLetsEveryFrameThrough() {
+        FrameChangeDetector detector = new FrameChangeDetector(0, 0);
+        byte[] frame = frame(100);
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 0));
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, MS));
+    }
+
+    @Test
+    public void resetLetsTheNextFrameThrough() {
+        FrameChangeDetector detector = new FrameChangeDetector(4, 0);
+        byte[] frame = frame(100);
+        detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, 0);
+        detector.reset();
+        assertTrue(detector.shouldProcess(frame, WIDTH, WIDTH, HEIGHT, MS));
+    }
+
+    @Test
+    public void honoursRowStride() {
+        FrameChangeDetector detector = new FrameChangeDetector(4, 0);
+        int stride = WIDTH + 32;
+        byte[] padded = new byte[stride * HEIGHT];
+        for (int row = 0; row < HEIGHT; row++) {
+            Arrays.fill(padded, row * stride, row * stride + WIDTH, (byte) 100);
+            Arrays.fill(padded, row * stride + WIDTH, (row + 1) * stride, (byte) 255);
+        }
+        detector.shouldProcess(frame(100), WIDTH, WIDTH, HEIGHT, 0);
+        assertFalse(detector.shouldProcess(padded, stride, WIDTH, HEIGHT, MS));
+    }
+
+    private static byte[] frame(int luma) {
+        byte[] frame = new byte[WIDTH * HEIGHT];
+        Arrays.fill(frame, (byte) luma);
+        return frame;
+    }
+}
@@ -0,0 +1,30 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ImageMathTest {
+
+    @Test
+    public void sampleSizeNeverUndershootsTheTarget() {
+        assertEquals(1, ImageMath.sampleSize(1000, 800, 1024));
+        assertEquals(1, ImageMath.sampleSize(4000, 3000, 0));
+        assertEquals(2, ImageMath.sampleSize(4000, 3000, 1024));
+        assertEquals(4, ImageMath.sampleSize(4096, 3072, 1024));
+    }
+
+    @Test
+    public void fitWithinKeepsTheAspectRatio() {
+        assertArrayEquals(new int[] { 1024, 768 }, ImageMath.fitWithin(4000, 3000, 1024));
+        assertArrayEquals(new int[] { 768, 1024 }, ImageMath.fitWithin(3000, 4000, 1024));
+        assertArrayEquals(new int[] { 800, 600 }, ImageMath.fitWithin(800, 600, 1024));
+    }
+
+    @Test
+    public void sampledDimensionRoundsUp() {
+        assertEquals(1501, ImageMath.sampledDimension(3001, 2));
+        assertEquals(1500, ImageMath.sampledDimension(3000, 2));
+    }
+}
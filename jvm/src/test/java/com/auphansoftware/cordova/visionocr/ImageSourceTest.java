@@ -0,0 +1,32 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ImageSourceTest {
+
+    @Test
+    public void base64JpegIsNotAPath() {
+        // FF D8 FF E0, the start of every JPEG, encodes as "/9j/"
+        byte[] header = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16 };
+        String jpeg = Base64Codec.encode(header, 0, header.length);
+        assertTrue(jpeg.startsWith("/9j/"));
+        assertFalse(ImageSource.isUri(jpeg));
+    }
+
+    @Test
+    public void schemesAreUris() {
+        assertTrue(ImageSource.isUri("file:///data/user/0/app/cache/scan.jpg"));
+        assertTrue(ImageSource.isUri("content://media/external/images/media/42"));
+        assertTrue(ImageSource.isUri("cdvfile://localhost/temporary/scan.jpg"));
+    }
+
+    @Test
+    public void bareTextIsBase64() {
+        assertFalse(ImageSource.isUri("iVBORw0KGgo="));
+        assertFalse(ImageSource.isUri("/sdcard/scan.jpg"));
+        assertFalse(ImageSource.isUri(""));
+    }
+}
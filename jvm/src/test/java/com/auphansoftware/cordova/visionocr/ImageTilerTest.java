@@ -0,0 +1,67 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ImageTilerTest {
+
+    @Test
+    public void smallRegionsAreOneTile() {
+        List<int[]> tiles = ImageTiler.plan(new int[] { 10, 20, 800, 600 }, 1024, 64);
+        assertEquals(1, tiles.size());
+        assertArrayEquals(new int[] { 10, 20, 800, 600 }, tiles.get(0));
+    }
+
+    @Test
+    public void tilesCoverTheRegionWithOverlap() {
+        int[] region = { 0, 0, 5000, 3000 };
+        List<int[]> tiles = ImageTiler.plan(region, 2048, 128);
+        assertEquals(3 * 2, tiles.size());
+        for (int[] tile : tiles) {
+            assertTrue(tile[2] <= 2048 && tile[3] <= 2048);
+        }
+        int[] first = tiles.get(0);
+        int[] second = tiles.get(1);
+        int[] last = tiles.get(tiles.size() - 1);
+        assertEquals(0, first[0]);
+        assertTrue(first[0] + first[2] - second[0] >= 128);
+        assertEquals(region[2], last[0] + last[2]);
+        assertEquals(region[3], last[1] + last[3]);
+    }
+
+    @Test
+    public void mergeDropsLinesFoundByTwoTiles() {
+        List<OcrLine> merged = ImageTiler.merge(Arrays.asList(
+                new OcrLine("Subtotal", 0.9f, 0.40, 0.50, 0.10, 0.02),
+                new OcrLine("Subtotal", 0.8f, 0.40, 0.50, 0.10, 0.02)));
+        assertEquals(1, merged.size());
+        assertEquals(0.9f, merged.get(0).confidence, 0f);
+    }
+
+    @Test
+    public void mergeJoinsALineCutByATileEdge() {
+        List<OcrLine> merged = ImageTiler.merge(Arrays.asList(
+                new OcrLine("Grand total", 0.9f, 0.30, 0.50, 0.22, 0.02),
+                new OcrLine("total 42.00", 0.9f, 0.42, 0.50, 0.20, 0.02)));
+        assertEquals(1, merged.size());
+        assertEquals("Grand total 42.00", merged.get(0).text);
+        assertEquals(0.30, merged.get(0).x, 1e-9);
+        assertEquals(0.32, merged.get(0).width, 1e-9);
+    }
+
+    @Test
+    public void mergeKeepsSeparateLinesSorted() {
+        List<OcrLine> merged = ImageTiler.merge(Arrays.asList(
+                new OcrLine("second", 0.9f, 0.1, 0.6, 0.2, 0.02),
+                new OcrLine("first", 0.9f, 0.1, 0.2, 0.2, 0.02),
+                new OcrLine("right", 0.9f, 0.6, 0.2, 0.2, 0.02)));
+        assertEquals(Arrays.asList("first", "right", "second"),
+                Arrays.asList(merged.get(0).text, merged.get(1).text, merged.get(2).text));
+    }
+}
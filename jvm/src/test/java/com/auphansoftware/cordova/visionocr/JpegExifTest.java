@@ -0,0 +1,54 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JpegExifTest {
+
+    /** SOI, a JFIF APP0 segment, then a stand-in for the rest of the file. */
+    private static final byte[] JFIF = {
+            (byte) 0xFF, (byte) 0xD8,
+            (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1, 0, 1, 0, 0,
+            (byte) 0xFF, (byte) 0xDA, 0, 2,
+            (byte) 0xFF, (byte) 0xD9
+    };
+
+    @Test
+    public void untaggedImagesAreNormal() {
+        assertEquals(JpegExif.ORIENTATION_NORMAL, JpegExif.readOrientation(JFIF));
+    }
+
+    @Test
+    public void insertsAndOverwritesTheOrientation() {
+        byte[] tagged = JpegExif.withOrientation(JFIF, 0, JFIF.length, 6);
+        assertEquals(6, JpegExif.readOrientation(tagged));
+        // The EXIF segment goes after JFIF APP0
+        assertEquals((byte) 0xE0, tagged[3]);
+        assertEquals((byte) 0xE1, tagged[21]);
+
+        byte[] retagged = JpegExif.withOrientation(tagged, 0, tagged.length, 3);
+        assertEquals(tagged.length, retagged.length);
+        assertEquals(3, JpegExif.readOrientation(retagged));
+    }
+
+    @Test
+    public void tagsASlice() {
+        byte[] padded = new byte[JFIF.length + 8];
+        System.arraycopy(JFIF, 0, padded, 4, JFIF.length);
+        byte[] tagged = JpegExif.withOrientation(padded, 4, JFIF.length, 8);
+        assertEquals(8, JpegExif.readOrientation(tagged));
+    }
+
+    @Test
+    public void orientationAndDegreesAgree() {
+        for (int degrees = 0; degrees < 360; degrees += 90) {
+            assertEquals(degrees, JpegExif.rotationDegrees(JpegExif.orientationFor(degrees)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonJpegData() {
+        JpegExif.withOrientation(new byte[] { 1, 2, 3, 4 }, 0, 4, 6);
+    }
+}
@@ -0,0 +1,68 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LineTrackerTest {
+
+    @Test
+    public void reportsLinesOnceStable() {
+        LineTracker tracker = new LineTracker(3);
+        assertTrue(tracker.update(lines("TOTAL 12.50")).isEmpty());
+        assertTrue(tracker.update(lines("TOTAL 12.50")).isEmpty());
+        List<LineTracker.Track> stable = tracker.update(lines("TOTAL 12.50"));
+        assertEquals(1, stable.size());
+        assertEquals("TOTAL 12.50", stable.get(0).line().text);
+        assertEquals(3, stable.get(0).observationCount());
+    }
+
+    @Test
+    public void votesAwayASingleMisreading() {
+        LineTracker tracker = new LineTracker(1);
+        tracker.update(lines("INVOICE 4711"));
+        tracker.update(lines("INVOICE 4711"));
+        List<LineTracker.Track> stable = tracker.update(lines("INV0ICE 4711"));
+        assertEquals("INVOICE 4711", stable.get(0).line().text);
+    }
+
+    @Test
+    public void keepsTrackIdsAndDropsLostLines() {
+        LineTracker tracker = new LineTracker(1);
+        long id = tracker.update(lines("HELLO")).get(0).id;
+        assertEquals(id, tracker.update(lines("HELLO")).get(0).id);
+
+        // Short dropouts keep the track; longer ones lose it
+        List<OcrLine> none = Collections.emptyList();
+        assertEquals(1, tracker.update(none).size());
+        assertEquals(1, tracker.update(none).size());
+        assertTrue(tracker.update(none).isEmpty());
+        assertTrue(id != tracker.update(lines("HELLO")).get(0).id);
+    }
+
+    @Test
+    public void separatesLinesByPosition() {
+        LineTracker tracker = new LineTracker(1);
+        List<OcrLine> frame = Arrays.asList(
+                new OcrLine("FIRST", 0.9f, 0.1, 0.1, 0.5, 0.05),
+                new OcrLine("FIRST", 0.9f, 0.1, 0.5, 0.5, 0.05));
+        assertEquals(2, tracker.update(frame).size());
+    }
+
+    @Test
+    public void editDistance() {
+        assertEquals(0, LineTracker.editDistance("abc", "abc"));
+        assertEquals(1, LineTracker.editDistance("abc", "abd"));
+        assertEquals(3, LineTracker.editDistance("", "abc"));
+        assertEquals(3, LineTracker.editDistance("kitten", "sitting"));
+    }
+
+    static List<OcrLine> lines(String text) {
+        return Collections.singletonList(new OcrLine(text, 0.9f, 0.1, 0.2, 0.5, 0.05));
+    }
+}
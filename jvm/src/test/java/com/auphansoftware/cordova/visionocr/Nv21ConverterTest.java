@@ -0,0 +1,148 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Nv21ConverterTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+    private static final int ROW_PADDING = 32;
+
+    /** Reference NV21 image and the YUV_420_888 planes CameraX would hand out for it. */
+    private static final class Planes {
+        final byte[] nv21;
+        final ByteBuffer y;
+        final ByteBuffer u;
+        final ByteBuffer v;
+        final int yRowStride;
+        final int uvRowStride;
+        final int uvPixelStride;
+
+        Planes(boolean interleaved, long seed) {
+            Random random = new Random(seed);
+            nv21 = new byte[Nv21Converter.nv21Size(WIDTH, HEIGHT)];
+            random.nextBytes(nv21);
+
+            yRowStride = WIDTH + ROW_PADDING;
+            byte[] luma = new byte[yRowStride * HEIGHT];
+            for (int row = 0; row < HEIGHT; row++) {
+                System.arraycopy(nv21, row * WIDTH, luma, row * yRowStride, WIDTH);
+            }
+            y = ByteBuffer.wrap(luma);
+
+            int chromaWidth = WIDTH / 2;
+            int chromaHeight = HEIGHT / 2;
+            int chromaStart = WIDTH * HEIGHT;
+            if (interleaved) {
+                // One VUVU... buffer with V and U as views offset by a byte
+                uvPixelStride = 2;
+                uvRowStride = WIDTH + ROW_PADDING;
+                byte[] vu = new byte[uvRowStride * chromaHeight];
+                for (int row = 0; row < chromaHeight; row++) {
+                    System.arraycopy(nv21, chromaStart + row * WIDTH, vu, row * uvRowStride, WIDTH);
+                }
+                int length = uvRowStride * (chromaHeight - 1) + WIDTH - 1;
+                v = ByteBuffer.wrap(vu, 0, length).slice();
+                u = ByteBuffer.wrap(vu, 1, length).slice();
+            } else {
+                uvPixelStride = 1;
+                uvRowStride = chromaWidth + ROW_PADDING;
+                byte[] vPlane = new byte[uvRowStride * chromaHeight];
+                byte[] uPlane = new byte[uvRowStride * chromaHeight];
+                for (int row = 0; row < chromaHeight; row++) {
+                    for (int col = 0; col < chromaWidth; col++) {
+                        vPlane[row * uvRowStride + col] = nv21[chromaStart + row * WIDTH + col * 2];
+                        uPlane[row * uvRowStride + col] = nv21[chromaStart + row * WIDTH + col * 2 + 1];
+                    }
+                }
+                v = ByteBuffer.wrap(vPlane);
+                u = ByteBuffer.wrap(uPlane);
+            }
+        }
+    }
+
+    @Test
+    public void nv21SizeRoundsChromaUp() {
+        assertEquals(640 * 480 * 3 / 2, Nv21Converter.nv21Size(640, 480));
+        assertEquals(3 * 3 + 2 * 2 * 2, Nv21Converter.nv21Size(3, 3));
+    }
+
+    @Test
+    public void convertsPlanarChromaWithRowPadding() {
+        Planes planes = new Planes(false, 1);
+        assertArrayEquals(planes.nv21, convert(planes));
+    }
+
+    @Test
+    public void convertsInterleavedChromaWithRowPadding() {
+        Planes planes = new Planes(true, 2);
+        assertArrayEquals(planes.nv21, convert(planes));
+    }
+
+    @Test
+    public void leavesBufferPositionsAndContentsUnchanged() {
+        Planes planes = new Planes(true, 3);
+        byte[] before = planes.u.duplicate().array().clone();
+        convert(planes);
+        assertEquals(0, planes.y.position());
+        assertEquals(0, planes.u.position());
+        assertEquals(0, planes.v.position());
+        assertArrayEquals(before, planes.u.array());
+    }
+
+    @Test
+    public void convertRegionMatchesCropOfFullImage() {
+        for (boolean interleaved : new boolean[] { false, true }) {
+            Planes planes = new Planes(interleaved, 4);
+            byte[] region = new byte[Nv21Converter.nv21Size(20, 14)];
+            Nv21Converter.convertRegion(planes.y, planes.yRowStride, planes.u, planes.v,
+                    planes.uvRowStride, planes.uvPixelStride, WIDTH, 10, 6, 20, 14, region);
+
+            byte[] expected = new byte[region.length];
+            Nv21Converter.crop(planes.nv21, WIDTH, HEIGHT, 10, 6, 20, 14, expected);
+            assertArrayEquals(expected, region);
+        }
+    }
+
+    @Test
+    public void cropCopiesLumaAndChroma() {
+        byte[] nv21 = new byte[Nv21Converter.nv21Size(4, 4)];
+        for (int i = 0; i < nv21.length; i++) nv21[i] = (byte) i;
+        byte[] out = new byte[Nv21Converter.nv21Size(2, 2)];
+        Nv21Converter.crop(nv21, 4, 4, 2, 2, 2, 2, out);
+        // Luma rows 2-3, columns 2-3; chroma row 1, VU pair 1
+        assertArrayEquals(new byte[] { 10, 11, 14, 15, 16 + 4 + 2, 16 + 4 + 3 }, out);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOddCropOrigin() {
+        byte[] nv21 = new byte[Nv21Converter.nv21Size(8, 8)];
+        Nv21Converter.crop(nv21, 8, 8, 1, 0, 4, 4, new byte[Nv21Converter.nv21Size(4, 4)]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCropOutsideImage() {
+        byte[] nv21 = new byte[Nv21Converter.nv21Size(8, 8)];
+        Nv21Converter.crop(nv21, 8, 8, 6, 0, 4, 4, new byte[Nv21Converter.nv21Size(4, 4)]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortOutput() {
+        Planes planes = new Planes(false, 5);
+        Nv21Converter.convert(planes.y, planes.yRowStride, planes.u, planes.v,
+                planes.uvRowStride, planes.uvPixelStride, WIDTH, HEIGHT, new byte[WIDTH * HEIGHT]);
+    }
+
+    private static byte[] convert(Planes planes) {
+        byte[] out = new byte[Nv21Converter.nv21Size(WIDTH, HEIGHT)];
+        Nv21Converter.convert(planes.y, planes.yRowStride, planes.u, planes.v,
+                planes.uvRowStride, planes.uvPixelStride, WIDTH, HEIGHT, out);
+        return out;
+    }
+}
@@ -0,0 +1,70 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class Nv21RotatorTest {
+
+    @Test
+    public void canRotateOnlyEvenSizes() {
+        assertTrue(Nv21Rotator.canRotate(640, 480));
+        assertFalse(Nv21Rotator.canRotate(641, 480));
+        assertFalse(Nv21Rotator.canRotate(640, 481));
+    }
+
+    @Test
+    public void rotatesClockwise() {
+        // 4x2 luma, one row of two VU pairs
+        byte[] nv21 = {
+                1, 2, 3, 4,
+                5, 6, 7, 8,
+                20, 21, 30, 31
+        };
+        byte[] out = new byte[nv21.length];
+        Nv21Rotator.rotate(nv21, 4, 2, 90, out);
+        // 2x4: the left column, bottom up, becomes the top row
+        assertArrayEquals(new byte[] {
+                5, 1,
+                6, 2,
+                7, 3,
+                8, 4,
+                20, 21,
+                30, 31
+        }, out);
+    }
+
+    @Test
+    public void rotationsCompose() {
+        int width = 24;
+        int height = 16;
+        byte[] nv21 = new byte[Nv21Converter.nv21Size(width, height)];
+        new Random(7).nextBytes(nv21);
+
+        byte[] quarter = new byte[nv21.length];
+        byte[] back = new byte[nv21.length];
+        Nv21Rotator.rotate(nv21, width, height, 90, quarter);
+        Nv21Rotator.rotate(quarter, height, width, 270, back);
+        assertArrayEquals(nv21, back);
+
+        byte[] half = new byte[nv21.length];
+        byte[] twice = new byte[nv21.length];
+        Nv21Rotator.rotate(nv21, width, height, 90, quarter);
+        Nv21Rotator.rotate(quarter, height, width, 90, twice);
+        Nv21Rotator.rotate(nv21, width, height, 180, half);
+        assertArrayEquals(half, twice);
+
+        byte[] same = new byte[nv21.length];
+        Nv21Rotator.rotate(nv21, width, height, -360, same);
+        assertArrayEquals(nv21, same);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOddSizes() {
+        Nv21Rotator.rotate(new byte[Nv21Converter.nv21Size(3, 2)], 3, 2, 90, new byte[16]);
+    }
+}
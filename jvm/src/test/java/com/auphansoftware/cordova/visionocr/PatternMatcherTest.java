@@ -0,0 +1,40 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PatternMatcherTest {
+
+    @Test
+    public void matchesFieldTypesAndRegexes() {
+        PatternMatcher matcher = new PatternMatcher().addFieldType("email").addRegex("INV-\\d{4}");
+        assertEquals("email", matcher.match("Contact: jane.doe@example.com"));
+        assertEquals("INV-\\d{4}", matcher.match("Invoice INV-2024"));
+        assertNull(matcher.match("nothing here"));
+    }
+
+    @Test
+    public void firstPatternWins() {
+        PatternMatcher matcher = new PatternMatcher().addFieldType("date").addFieldType("number");
+        assertEquals("date", matcher.match("Due 2024-05-01"));
+        assertEquals("number", matcher.match("Qty 12"));
+    }
+
+    @Test
+    public void startsEmpty() {
+        assertTrue(new PatternMatcher().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownFieldTypes() {
+        new PatternMatcher().addFieldType("iban");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidRegexes() {
+        new PatternMatcher().addRegex("(");
+    }
+}
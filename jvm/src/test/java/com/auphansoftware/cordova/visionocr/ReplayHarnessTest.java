@@ -0,0 +1,64 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReplayHarnessTest {
+
+    @ClassRule
+    public static final TemporaryFolder FOLDER = new TemporaryFolder();
+
+    private static File recording;
+
+    @BeforeClass
+    public static void writeRecording() throws Exception {
+        recording = FOLDER.newFile("synthetic.frames");
+        ReplayHarness.writeSyntheticRecording(recording, 600);
+    }
+
+    @Test
+    public void replaysDeterministically() throws Exception {
+        JSONObject options = new JSONObject("{\"fusionFrames\":3,\"changeThreshold\":0}");
+        ReplayHarness.Report first = ReplayHarness.run(recording, options,
+                new SimulatedRecognizer(ReplayHarness.loadScene(null), 150, 0.05, 1),
+                WarmupDetector.DEFAULT_TIMEOUT_MS);
+        ReplayHarness.Report second = ReplayHarness.run(recording, options,
+                new SimulatedRecognizer(ReplayHarness.loadScene(null), 150, 0.05, 1),
+                WarmupDetector.DEFAULT_TIMEOUT_MS);
+
+        assertEquals(600, first.frames);
+        assertEquals("stable", first.warmupReason);
+        assertTrue(first.skippedWarmup > 0);
+        assertTrue(first.recognitions > 0);
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    public void adaptiveRateKeepsTheRecognizerBelowFullDutyCycle() throws Exception {
+        ReplayHarness.Report report = ReplayHarness.run(recording, new JSONObject("{\"changeThreshold\":0}"),
+                new SimulatedRecognizer(ReplayHarness.loadScene(null), 150, 0, 1),
+                WarmupDetector.DEFAULT_TIMEOUT_MS);
+        double dutyCycle = report.recognitions * 0.150 / (report.durationNanos / 1e9);
+        assertTrue(dutyCycle <= AnalysisScheduler.MAX_DUTY_CYCLE + 0.05);
+        assertTrue(report.skippedBusy + report.skippedRate > 0);
+    }
+
+    @Test
+    public void fixedSceneIsReportedOnceWithFusion() throws Exception {
+        ReplayHarness.Report report = ReplayHarness.run(recording,
+                new JSONObject("{\"fusionFrames\":3,\"changeThreshold\":0}"),
+                new SimulatedRecognizer(Collections.singletonList(
+                        new OcrLine("TOTAL 42.00", 0.9f, 0.1, 0.4, 0.5, 0.06)), 50, 0, 1),
+                WarmupDetector.DEFAULT_TIMEOUT_MS);
+        assertEquals(1, report.results);
+    }
+}
@@ -0,0 +1,65 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResultCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsedPastTheBudget() {
+        ResultCache<String> cache = new ResultCache<>(100);
+        cache.put("a", "A", 40);
+        cache.put("b", "B", 40);
+        assertEquals("A", cache.get("a"));
+        cache.put("c", "C", 40);
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals(80, cache.sizeBytes());
+        assertEquals(1, cache.evictions());
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void replacingAnEntryKeepsTheSizeRight() {
+        ResultCache<String> cache = new ResultCache<>(100);
+        cache.put("a", "A", 40);
+        cache.put("a", "A2", 10);
+        assertEquals(10, cache.sizeBytes());
+        assertEquals(1, cache.entryCount());
+    }
+
+    @Test
+    public void skipsValuesLargerThanTheBudget() {
+        ResultCache<String> cache = new ResultCache<>(100);
+        cache.put("big", "B", 101);
+        assertEquals(0, cache.entryCount());
+        assertFalse(new ResultCache<String>(0).isEnabled());
+    }
+
+    @Test
+    public void resetCountersKeepsEntries() {
+        ResultCache<String> cache = new ResultCache<>(100);
+        cache.put("a", "A", 40);
+        cache.get("a");
+        cache.get("b");
+        cache.resetCounters();
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+        assertEquals("A", cache.get("a"));
+    }
+
+    @Test
+    public void contentKeyDependsOnContent() {
+        byte[] a = { 1, 2, 3 };
+        byte[] b = { 1, 2, 4 };
+        assertEquals(ResultCache.contentKey(a), ResultCache.contentKey(a.clone()));
+        assertNotEquals(ResultCache.contentKey(a), ResultCache.contentKey(b));
+    }
+}
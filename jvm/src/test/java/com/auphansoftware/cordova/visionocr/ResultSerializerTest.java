@@ -0,0 +1,106 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ResultSerializerTest {
+
+    private static final List<OcrNode> NODES = Arrays.asList(
+            new OcrNode(OcrNode.BLOCK, -1, "Hello world", 0.9f, 0.1, 0.1, 0.5, 0.1),
+            new OcrNode(OcrNode.LINE, 0, "Hello world", 0.9f, 0.1, 0.1, 0.5, 0.05),
+            new OcrNode(OcrNode.ELEMENT, 1, "Hello", 0.8f, 0.1, 0.1, 0.2, 0.05),
+            new OcrNode(OcrNode.ELEMENT, 1, "world", 1.0f, 0.35, 0.1, 0.25, 0.05));
+
+    @Test
+    public void nestsNodesUnderTheirLines() throws Exception {
+        JSONObject result = ResultSerializer.nodesToJson(NODES, 640, 480);
+        assertEquals(640, result.getInt("imageWidth"));
+        JSONArray blocks = result.getJSONArray("blocks");
+        assertEquals(1, blocks.length());
+        JSONObject line = blocks.getJSONObject(0);
+        assertEquals("Hello world", line.getString("text"));
+        JSONArray elements = line.getJSONArray("elements");
+        assertEquals(2, elements.length());
+        assertEquals("world", elements.getJSONObject(1).getString("text"));
+    }
+
+    @Test
+    public void blockGranularityKeepsBlocksAtTheTop() throws Exception {
+        JSONObject result = ResultSerializer.nodesToJson(NODES.subList(0, 1), 640, 480);
+        JSONObject block = result.getJSONArray("blocks").getJSONObject(0);
+        assertFalse(block.has("elements"));
+        assertEquals(0.1, block.getDouble("height"), 1e-9);
+    }
+
+    @Test
+    public void estimateCountsNestedNodesAndText() throws Exception {
+        long lineOnly = ResultSerializer.estimateBytes(ResultSerializer.nodesToJson(NODES.subList(0, 2), 640, 480));
+        long withElements = ResultSerializer.estimateBytes(ResultSerializer.nodesToJson(NODES, 640, 480));
+        assertEquals(2 * ResultSerializer.NODE_BYTES + 2 * ("Hello".length() + "world".length()),
+                withElements - lineOnly);
+
+        long empty = ResultSerializer.estimateBytes(ResultSerializer.toJson(Arrays.<OcrLine>asList(), 640, 480));
+        JSONObject result = ResultSerializer.toJson(Arrays.asList(
+                new OcrLine("Hello world", 0.9f, 0.1, 0.1, 0.5, 0.05)), 640, 480);
+        assertEquals(ResultSerializer.NODE_BYTES + 2 * "Hello world".length(),
+                ResultSerializer.estimateBytes(result) - empty);
+    }
+
+    @Test
+    public void columnarHeaderListsTextInNodeOrder() throws Exception {
+        JSONObject header = ResultSerializer.columnarHeader(NODES, 640, 480);
+        assertEquals(4, header.getInt("count"));
+        assertEquals("Hello", header.getJSONArray("text").getString(2));
+    }
+
+    @Test
+    public void columnarDataHasOneColumnPerField() {
+        byte[] data = ResultSerializer.columnarData(NODES);
+        int count = NODES.size();
+        assertEquals(count * 4 * ResultSerializer.COLUMNS, data.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        float[] x = new float[count];
+        float[] width = new float[count];
+        float[] confidence = new float[count];
+        int[] level = new int[count];
+        int[] parent = new int[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = buffer.getFloat(i * 4);
+            width[i] = buffer.getFloat((2 * count + i) * 4);
+            confidence[i] = buffer.getFloat((4 * count + i) * 4);
+            level[i] = buffer.getInt((5 * count + i) * 4);
+            parent[i] = buffer.getInt((6 * count + i) * 4);
+        }
+        assertArrayEquals(new float[] { 0.1f, 0.1f, 0.1f, 0.35f }, x, 0f);
+        assertArrayEquals(new float[] { 0.5f, 0.5f, 0.2f, 0.25f }, width, 0f);
+        assertArrayEquals(new float[] { 0.9f, 0.9f, 0.8f, 1.0f }, confidence, 0f);
+        assertArrayEquals(new int[] { OcrNode.BLOCK, OcrNode.LINE, OcrNode.ELEMENT, OcrNode.ELEMENT }, level);
+        assertArrayEquals(new int[] { -1, 0, 1, 1 }, parent);
+    }
+
+    @Test
+    public void deltaListsAddedTracksAndRemovedIds() throws Exception {
+        DeltaEncoder encoder = new DeltaEncoder();
+        LineTracker tracker = new LineTracker(1);
+        JSONObject json = ResultSerializer.deltaToJson(
+                encoder.diff(tracker.update(LineTrackerTest.lines("HELLO"))), 640, 480);
+        assertEquals(true, json.getBoolean("delta"));
+        JSONObject added = json.getJSONArray("added").getJSONObject(0);
+        assertEquals("HELLO", added.getString("text"));
+        assertEquals(1, added.getInt("frames"));
+
+        json = ResultSerializer.deltaToJson(encoder.diff(Arrays.<LineTracker.Track>asList()), 640, 480);
+        assertEquals(added.getLong("id"), json.getJSONArray("removed").getLong(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RoiTest {
+
+    private static final float EPSILON = 1e-6f;
+
+    @Test
+    public void clipsToTheUnitSquare() {
+        Roi roi = Roi.of(-0.5, 0.5, 1.0, 1.0);
+        assertEquals(0f, roi.x, EPSILON);
+        assertEquals(0.5f, roi.width, EPSILON);
+        assertEquals(0.5f, roi.height, EPSILON);
+        assertNull(Roi.of(1.2, 0, 0.5, 0.5));
+    }
+
+    @Test
+    public void fullRegionOptionsMeanNoRegion() throws Exception {
+        assertNull(Roi.fromOptions(new JSONObject()));
+        assertNull(Roi.fromOptions(new JSONObject("{\"roi\":{\"x\":0,\"y\":0,\"width\":1,\"height\":1}}")));
+        Roi roi = Roi.fromOptions(new JSONObject("{\"roi\":{\"x\":0.25,\"width\":0.5}}"));
+        assertEquals(0.25f, roi.x, EPSILON);
+        assertEquals(1f, roi.height, EPSILON);
+    }
+
+    @Test
+    public void toPixelsGrowsToTheAlignment() {
+        Roi roi = Roi.of(0.101, 0.101, 0.5, 0.5);
+        assertArrayEquals(new int[] { 64, 48, 322, 242 }, roi.toPixels(640, 480, 2));
+        assertArrayEquals(new int[] { 0, 0, 640, 480 }, Roi.of(0, 0, 1, 1).toPixels(640, 480, 2));
+    }
+
+    @Test
+    public void rotationsRoundTrip() {
+        Roi roi = Roi.of(0.1, 0.2, 0.3, 0.4);
+        Roi quarter = roi.rotatedClockwise(90);
+        assertEquals(0.4f, quarter.x, EPSILON);
+        assertEquals(0.1f, quarter.y, EPSILON);
+        assertEquals(0.4f, quarter.width, EPSILON);
+        assertEquals(0.3f, quarter.height, EPSILON);
+
+        for (int degrees : new int[] { 90, 180, 270 }) {
+            Roi back = roi.rotatedClockwise(degrees).rotatedClockwise(360 - degrees);
+            assertEquals(roi.x, back.x, EPSILON);
+            assertEquals(roi.y, back.y, EPSILON);
+            assertEquals(roi.width, back.width, EPSILON);
+            assertEquals(roi.height, back.height, EPSILON);
+        }
+    }
+
+    @Test
+    public void mapsRegionCoordinatesToTheFullImage() {
+        Roi roi = Roi.of(0.2, 0.4, 0.5, 0.25);
+        assertEquals(0.45, roi.mapX(0.5), EPSILON);
+        assertEquals(0.65, roi.mapY(1.0), EPSILON);
+        assertEquals(0.25, roi.mapWidth(0.5), EPSILON);
+        assertEquals(0.125, roi.mapHeight(0.5), EPSILON);
+    }
+}
@@ -0,0 +1,101 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WarmupDetectorTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+    private static final long FRAME_NANOS = 33_000_000L;
+
+    @Test
+    public void readyOnceBrightnessSettles() {
+        WarmupDetector detector = new WarmupDetector(3, 1500);
+        int[] ramp = { 0, 5, 40, 90, 120, 128, 129, 129, 129, 129 };
+        int admitted = -1;
+        for (int i = 0; i < ramp.length; i++) {
+            if (detector.update(frame(ramp[i]), WIDTH, WIDTH, HEIGHT, i * FRAME_NANOS)) {
+                admitted = i;
+                break;
+            }
+        }
+        assertEquals(8, admitted);
+        assertEquals(WarmupDetector.Reason.STABLE, detector.reason());
+        assertEquals(8 * FRAME_NANOS, detector.warmupNanos());
+        assertEquals(9, detector.frames());
+    }
+
+    @Test
+    public void darkScenesWaitForTheTimeout() {
+        WarmupDetector detector = new WarmupDetector(3, 1000);
+        byte[] black = frame(2);
+        long now = 0;
+        while (!detector.update(black, WIDTH, WIDTH, HEIGHT, now)) {
+            now += FRAME_NANOS;
+        }
+        assertEquals(WarmupDetector.Reason.TIMEOUT, detector.reason());
+        assertTrue(detector.warmupMs() >= 1000);
+    }
+
+    @Test
+    public void startCountsTheWaitForTheFirstFrame() {
+        WarmupDetector detector = new WarmupDetector(3, 1500);
+        long bound = 5_000_000_000L;
+        long firstFrame = bound + 400_000_000L;
+        detector.start(bound);
+        int admitted = -1;
+        for (int i = 0; i < 20; i++) {
+            if (detector.update(frame(128), WIDTH, WIDTH, HEIGHT, firstFrame + i * FRAME_NANOS)) {
+                admitted = i;
+                break;
+            }
+        }
+        assertEquals(3, admitted);
+        assertEquals(400_000_000L + 3 * FRAME_NANOS, detector.warmupNanos());
+    }
+
+    @Test
+    public void timeoutRunsFromStart() {
+        WarmupDetector detector = new WarmupDetector(3, 1000);
+        detector.start(0);
+        assertTrue(detector.update(frame(2), WIDTH, WIDTH, HEIGHT, 1_200_000_000L));
+        assertEquals(WarmupDetector.Reason.TIMEOUT, detector.reason());
+        assertEquals(1200.0, detector.warmupMs(), 0);
+    }
+
+    @Test
+    public void startIsIgnoredOnceFramesArrived() {
+        WarmupDetector detector = new WarmupDetector(3, 1000);
+        detector.update(frame(2), WIDTH, WIDTH, HEIGHT, 100);
+        detector.start(0);
+        assertFalse(detector.update(frame(2), WIDTH, WIDTH, HEIGHT, 1_000_000_000L));
+    }
+
+    @Test
+    public void zeroTimeoutAdmitsTheFirstFrame() {
+        WarmupDetector detector = new WarmupDetector(3, 0);
+        assertTrue(detector.update(frame(0), WIDTH, WIDTH, HEIGHT, 0));
+    }
+
+    @Test
+    public void resetStartsOver() {
+        WarmupDetector detector = new WarmupDetector(1, 0);
+        detector.update(frame(100), WIDTH, WIDTH, HEIGHT, 0);
+        assertTrue(detector.isReady());
+        detector.configure(3, 1500);
+        assertFalse(detector.isReady());
+        assertEquals(WarmupDetector.Reason.NONE, detector.reason());
+    }
+
+    private static byte[] frame(int luma) {
+        byte[] frame = new byte[WIDTH * HEIGHT];
+        Arrays.fill(frame, (byte) luma);
+        return frame;
+    }
+}
@@ -0,0 +1,374 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Everything that happens to an analysis frame after it leaves its
+ * {@link FrameSource}: warm-up gating, publishing to the {@link FrameStore},
+ * and — while live recognition runs — rate scheduling, change detection, ROI
+ * cropping, recognition, fusion and result encoding.
+ *
+ * The camera and ML Kit sit behind {@link FrameSource} and
+ * {@link LineRecognizer}, so the same pipeline runs on recorded frames on the
+ * JVM (see the replay harness in {@code jvm/}). Warm-up and change detection
+ * look at the frames' own pixels and timestamps and scheduling uses an
+ * injectable {@link Clock}, which keeps replays deterministic.
+ */
+public final class AnalysisPipeline implements FrameSource.Sink {
+
+    public static final double DEFAULT_CHANGE_THRESHOLD = 4.0;
+    public static final long DEFAULT_REFRESH_INTERVAL_MS = 2000;
+
+    /** Time source for scheduling and latency; {@code System::nanoTime} on a device. */
+    public interface Clock {
+        long nanoTime();
+    }
+
+    /** Receives live results. */
+    public interface Listener {
+        /**
+         * @param frame the recognized frame (uncropped), held for the duration of
+         *              the call; acquire it from the store again to keep it longer
+         */
+        void onResult(JSONObject result, FrameStore.Frame frame);
+    }
+
+    /** Options and per-run state of one live recognition run. */
+    private static final class Session {
+        final Listener listener;
+        final double minConfidence;
+        final Roi roi;
+        final LineTracker tracker;
+        final DeltaEncoder deltaEncoder;
+        private String lastTrackSignature = "";
+
+        Session(Listener listener, double minConfidence, Roi roi, LineTracker tracker, DeltaEncoder deltaEncoder) {
+            this.listener = listener;
+            this.minConfidence = minConfidence;
+            this.roi = roi;
+            this.tracker = tracker;
+            this.deltaEncoder = deltaEncoder;
+        }
+
+        /** True if the fused texts differ from those last emitted. */
+        synchronized boolean tracksChanged(List<LineTracker.Track> stable) {
+            StringBuilder signature = new StringBuilder();
+            for (LineTracker.Track track : stable) {
+                signature.append(track.id).append(':').append(track.line().text).append('\n');
+            }
+            String current = signature.toString();
+            if (current.equals(lastTrackSignature)) return false;
+            lastTrackSignature = current;
+            return true;
+        }
+    }
+
+    private final FrameStore frameStore;
+    private final LineRecognizer recognizer;
+    private final StageMetrics metrics;
+    private final Executor resultExecutor;
+    private final Clock clock;
+
+    private final FrameBufferPool cropBufferPool = new FrameBufferPool(2);
+    private final FrameChangeDetector changeDetector = new FrameChangeDetector(
+            DEFAULT_CHANGE_THRESHOLD, DEFAULT_REFRESH_INTERVAL_MS);
+    private final WarmupDetector warmupDetector;
+    private final AnalysisScheduler scheduler = new AnalysisScheduler(AnalysisScheduler.DEFAULT_TARGET_FPS, true);
+    private volatile Session session;
+
+    // Frame timing, guarded by this
+    private boolean hasFrames = false;
+    private long lastTimestampNanos = 0;
+    private long minFrameIntervalNanos = 0;
+    private boolean resumed = false;
+
+    /**
+     * @param resultExecutor runs tracking, serialization and the listener, off
+     *                       the recognizer's callback thread; the next
+     *                       recognition starts only once that has finished
+     * @param warmupTimeoutMs frames are dropped until their brightness settles
+     *                       after the camera opens (see {@link WarmupDetector}),
+     *                       but for no longer than this; 0 = no warm-up
+     */
+    public AnalysisPipeline(FrameStore frameStore, LineRecognizer recognizer, StageMetrics metrics,
+                            Executor resultExecutor, long warmupTimeoutMs) {
+        this(frameStore, recognizer, metrics, resultExecutor, warmupTimeoutMs, System::nanoTime);
+    }
+
+    public AnalysisPipeline(FrameStore frameStore, LineRecognizer recognizer, StageMetrics metrics,
+                            Executor resultExecutor, long warmupTimeoutMs, Clock clock) {
+        this.frameStore = frameStore;
+        this.recognizer = recognizer;
+        this.metrics = metrics;
+        this.resultExecutor = resultExecutor;
+        this.warmupDetector = new WarmupDetector(WarmupDetector.DEFAULT_MIN_FRAMES, warmupTimeoutMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Starts live recognition with startLiveRecognition options: minConfidence,
+     * roi, fusionFrames, emit, changeThreshold, refreshIntervalMs, targetFps,
+     * adaptiveRate.
+     */
+    public void start(JSONObject options, Listener listener) {
+        int fusionFrames = options.optInt("fusionFrames", 0);
+        boolean delta = "delta".equals(options.optString("emit", "full"));
+        LineTracker tracker;
+        if (fusionFrames > 1) {
+            tracker = new LineTracker(fusionFrames);
+        } else if (delta) {
+            // Tracking only for stable ids; each frame's raw text is reported
+            tracker = new LineTracker(1, 1);
+        } else {
+            tracker = null;
+        }
+
+        changeDetector.configure(
+                options.optDouble("changeThreshold", DEFAULT_CHANGE_THRESHOLD),
+                options.optLong("refreshIntervalMs", DEFAULT_REFRESH_INTERVAL_MS));
+        scheduler.configure(
+                options.optDouble("targetFps", AnalysisScheduler.DEFAULT_TARGET_FPS),
+                options.optBoolean("adaptiveRate", true));
+        session = new Session(listener, options.optDouble("minConfidence", 0.5), Roi.fromOptions(options),
+                tracker, delta ? new DeltaEncoder() : null);
+    }
+
+    /** Stops live recognition. Frames are still published to the store. */
+    public void stop() {
+        session = null;
+    }
+
+    /** Starts a new camera session: drops the stored frame and restarts warm-up. */
+    public synchronized void reset() {
+        hasFrames = false;
+        resumed = false;
+        minFrameIntervalNanos = 0;
+        frameStore.clear();
+        changeDetector.reset();
+        warmupDetector.reset();
+    }
+
+    /**
+     * Starts the warm-up clock; call when the camera is bound, so the camera.warmup
+     * metric and the warm-up timeout include the wait for the first frame.
+     */
+    public void startWarmup() {
+        warmupDetector.start(clock.nanoTime());
+    }
+
+    /**
+     * Continues a camera session whose frames were paused: drops the stale
+     * stored frame, and doesn't count the pause as dropped frames. Warm-up
+     * is not repeated.
+     */
+    public synchronized void resume() {
+        resumed = hasFrames;
+        frameStore.clear();
+        changeDetector.reset();
+    }
+
+    public FrameChangeDetector changeDetector() {
+        return changeDetector;
+    }
+
+    public AnalysisScheduler scheduler() {
+        return scheduler;
+    }
+
+    public WarmupDetector warmupDetector() {
+        return warmupDetector;
+    }
+
+    @Override
+    public byte[] obtainBuffer(int width, int height) {
+        return frameStore.obtainBuffer(width, height);
+    }
+
+    @Override
+    public void discardBuffer(byte[] buffer) {
+        frameStore.recycle(buffer);
+    }
+
+    @Override
+    public void onFrame(byte[] nv21, int width, int height, int rotationDegrees, long timestampNanos) {
+        long arrivalNanos = clock.nanoTime();
+        metrics.increment("analyzer.frames");
+        if (!admitFrame(nv21, width, height, timestampNanos, arrivalNanos)) {
+            metrics.increment("analyzer.skippedWarmup");
+            frameStore.recycle(nv21);
+            return;
+        }
+        frameStore.publish(nv21, width, height, rotationDegrees, timestampNanos);
+
+        // The store now owns nv21, but only a later publish (on this thread) can recycle it
+        Session current = session;
+        if (current == null) return;
+        switch (scheduler.check(arrivalNanos)) {
+            case BUSY:
+                metrics.increment("analyzer.skippedBusy");
+                return;
+            case THROTTLED:
+                metrics.increment("analyzer.skippedRate");
+                return;
+            default:
+                break;
+        }
+        if (!changeDetector.shouldProcess(nv21, width, width, height, timestampNanos)) {
+            metrics.increment("analyzer.skippedUnchanged");
+            return;
+        }
+        if (!scheduler.begin(arrivalNanos)) return;
+
+        FrameStore.Frame frame = frameStore.acquire();
+        if (frame == null) {
+            scheduler.cancel();
+            return;
+        }
+        recognize(current, frame, arrivalNanos);
+    }
+
+    /**
+     * Counts frames the source dropped before this one from gaps in the
+     * timestamps (taking the shortest interval seen as the frame period), and
+     * returns false while the source is still warming up.
+     */
+    private synchronized boolean admitFrame(byte[] nv21, int width, int height, long timestampNanos,
+                                            long arrivalNanos) {
+        if (!hasFrames) {
+            hasFrames = true;
+        } else if (resumed) {
+            resumed = false;
+        } else if (timestampNanos > lastTimestampNanos) {
+            long interval = timestampNanos - lastTimestampNanos;
+            if (minFrameIntervalNanos == 0 || interval < minFrameIntervalNanos) {
+                minFrameIntervalNanos = interval;
+            }
+            long missed = Math.round((double) interval / minFrameIntervalNanos) - 1;
+            if (missed > 0) metrics.add("analyzer.dropped", missed);
+        }
+        lastTimestampNanos = timestampNanos;
+
+        if (warmupDetector.isReady()) return true;
+        if (!warmupDetector.update(nv21, width, width, height, arrivalNanos)) return false;
+        metrics.record("camera.warmup", warmupDetector.warmupNanos());
+        return true;
+    }
+
+    /** Recognizes {@code frame} (or the session's region of it) and releases it when done. */
+    private void recognize(final Session current, final FrameStore.Frame frame, final long arrivalNanos) {
+        final int rotation = frame.rotationDegrees;
+        final boolean swapped = rotation == 90 || rotation == 270;
+
+        final byte[] input;
+        final int inputWidth;
+        final int inputHeight;
+        final Roi roi;
+        if (current.roi == null) {
+            input = frame.nv21;
+            inputWidth = frame.width;
+            inputHeight = frame.height;
+            roi = null;
+        } else {
+            // Crop to the region (in sensor orientation) so the recognizer only
+            // sees the pixels that matter
+            long cropStart = System.nanoTime();
+            int[] crop = current.roi.rotatedClockwise(360 - rotation).toPixels(frame.width, frame.height, 2);
+            roi = Roi.fromPixels(crop, frame.width, frame.height).rotatedClockwise(rotation);
+            input = cropBufferPool.acquire(Nv21Converter.nv21Size(crop[2], crop[3]));
+            try {
+                Nv21Converter.crop(frame.nv21, frame.width, frame.height, crop[0], crop[1], crop[2], crop[3], input);
+            } catch (RuntimeException e) {
+                cropBufferPool.release(input);
+                frameStore.release(frame);
+                scheduler.cancel();
+                return;
+            }
+            inputWidth = crop[2];
+            inputHeight = crop[3];
+            metrics.record("analyzer.crop", System.nanoTime() - cropStart);
+        }
+
+        final int imageWidth = swapped ? inputHeight : inputWidth;
+        final int imageHeight = swapped ? inputWidth : inputHeight;
+        final long recognizeStart = clock.nanoTime();
+        recognizer.recognize(input, inputWidth, inputHeight, rotation, new LineRecognizer.Callback() {
+            @Override
+            public void onSuccess(List<OcrLine> lines) {
+                long latency = clock.nanoTime() - recognizeStart;
+                metrics.record("analyzer.recognize", latency);
+                if (roi != null) cropBufferPool.release(input);
+                // The scheduler keeps one recognition in flight until its result is
+                // emitted, so emits never overlap and arrive in frame order. The
+                // frame is held until then for the listener.
+                try {
+                    resultExecutor.execute(() -> {
+                        try {
+                            emit(current, lines, imageWidth, imageHeight, roi, frame, arrivalNanos);
+                        } finally {
+                            frameStore.release(frame);
+                            scheduler.end(latency);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    frameStore.release(frame);
+                    scheduler.end(latency);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                metrics.increment("analyzer.failures");
+                if (roi != null) cropBufferPool.release(input);
+                frameStore.release(frame);
+                scheduler.end(clock.nanoTime() - recognizeStart);
+            }
+        });
+    }
+
+    private void emit(Session current, List<OcrLine> lines, int imageWidth, int imageHeight, Roi roi,
+                      FrameStore.Frame frame, long arrivalNanos) {
+        if (session != current) return; // stopped or restarted meanwhile
+        long serializeStart = System.nanoTime();
+
+        List<OcrLine> mapped = new ArrayList<>(lines.size());
+        for (OcrLine line : lines) {
+            if (line.confidence < current.minConfidence) continue;
+            mapped.add(roi == null ? line : new OcrLine(line.text, line.confidence,
+                    roi.mapX(line.x), roi.mapY(line.y), roi.mapWidth(line.width), roi.mapHeight(line.height)));
+        }
+        int fullWidth = roi != null ? Math.round(imageWidth / roi.width) : imageWidth;
+        int fullHeight = roi != null ? Math.round(imageHeight / roi.height) : imageHeight;
+
+        JSONObject result;
+        try {
+            if (current.tracker != null) {
+                List<LineTracker.Track> stable = current.tracker.update(mapped);
+                if (current.deltaEncoder != null) {
+                    // Delta mode: send only what changed since the last event
+                    DeltaEncoder.Delta delta = current.deltaEncoder.diff(stable);
+                    if (delta.isEmpty()) return;
+                    result = ResultSerializer.deltaToJson(delta, fullWidth, fullHeight);
+                } else {
+                    // Fusion: report only lines stable across frames, and only when they change
+                    if (!current.tracksChanged(stable)) return;
+                    result = ResultSerializer.tracksToJson(stable, fullWidth, fullHeight);
+                }
+            } else {
+                result = ResultSerializer.toJson(mapped, fullWidth, fullHeight);
+            }
+        } catch (JSONException e) {
+            return; // drop this frame
+        }
+
+        metrics.record("analyzer.serialize", System.nanoTime() - serializeStart);
+        metrics.record("analyzer.endToEnd", clock.nanoTime() - arrivalNanos);
+        metrics.increment("analyzer.results");
+        current.listener.onResult(result, frame);
+    }
+}
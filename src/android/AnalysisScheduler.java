@@ -0,0 +1,129 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Decides which analysis frames get recognized, so live OCR runs at a bounded
+ * rate instead of on every frame the camera delivers.
+ *
+ * At most one recognition is in flight at a time, and a new one starts no
+ * sooner than one interval of the current rate after the previous one
+ * started. The current rate is the target rate, lowered whenever the
+ * smoothed (EWMA) inference latency says the device cannot keep up with it
+ * while still idling part of the time: at most {@link #MAX_DUTY_CYCLE} of
+ * wall time is spent recognizing. It recovers by itself once inference
+ * gets faster again. All times come from the caller, so the scheduler is
+ * deterministic under a simulated clock.
+ */
+public final class AnalysisScheduler {
+
+    public static final double DEFAULT_TARGET_FPS = 10;
+
+    /** Largest fraction of time spent in inference when adapting. */
+    static final double MAX_DUTY_CYCLE = 0.75;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /** What to do with a frame. */
+    public enum Decision { RUN, BUSY, THROTTLED }
+
+    private double targetFps;
+    private boolean adaptive;
+    private boolean inFlight = false;
+    private boolean hasStarted = false;
+    private long lastStartNanos = 0;
+    private double latencyEwmaNanos = 0;
+    private long started = 0;
+    private long skippedBusy = 0;
+    private long skippedThrottled = 0;
+
+    /**
+     * @param targetFps highest recognition rate; 0 = no limit beyond busy-skipping
+     * @param adaptive  lower the rate when inference latency cannot sustain it
+     */
+    public AnalysisScheduler(double targetFps, boolean adaptive) {
+        configure(targetFps, adaptive);
+    }
+
+    /** Sets a new target and clears the counters. Latency history is kept. */
+    public synchronized void configure(double targetFps, boolean adaptive) {
+        this.targetFps = Math.max(0, targetFps);
+        this.adaptive = adaptive;
+        hasStarted = false;
+        started = 0;
+        skippedBusy = 0;
+        skippedThrottled = 0;
+    }
+
+    /** Whether a frame arriving at {@code nowNanos} should be recognized; counts skips. */
+    public synchronized Decision check(long nowNanos) {
+        if (inFlight) {
+            skippedBusy++;
+            return Decision.BUSY;
+        }
+        if (hasStarted && nowNanos - lastStartNanos < intervalNanos()) {
+            skippedThrottled++;
+            return Decision.THROTTLED;
+        }
+        return Decision.RUN;
+    }
+
+    /** Marks a recognition as started; false if one is already in flight. */
+    public synchronized boolean begin(long nowNanos) {
+        if (inFlight) return false;
+        inFlight = true;
+        hasStarted = true;
+        lastStartNanos = nowNanos;
+        started++;
+        return true;
+    }
+
+    /** Marks the running recognition as finished after {@code latencyNanos}. */
+    public synchronized void end(long latencyNanos) {
+        inFlight = false;
+        latencyEwmaNanos = latencyEwmaNanos == 0
+                ? latencyNanos
+                : latencyEwmaNanos + LATENCY_SMOOTHING * (latencyNanos - latencyEwmaNanos);
+    }
+
+    /** Marks the running recognition as abandoned without a latency sample. */
+    public synchronized void cancel() {
+        inFlight = false;
+    }
+
+    /** Zeroes the started/skipped counters; the rate and latency history are kept. */
+    public synchronized void resetCounters() {
+        started = 0;
+        skippedBusy = 0;
+        skippedThrottled = 0;
+    }
+
+    /** Rate recognitions may currently start at; 0 = unlimited. */
+    public synchronized double currentFps() {
+        if (targetFps <= 0) return 0;
+        if (!adaptive || latencyEwmaNanos == 0) return targetFps;
+        return Math.min(targetFps, MAX_DUTY_CYCLE * 1e9 / latencyEwmaNanos);
+    }
+
+    public synchronized double targetFps() {
+        return targetFps;
+    }
+
+    public synchronized double latencyMs() {
+        return latencyEwmaNanos / 1e6;
+    }
+
+    public synchronized long started() {
+        return started;
+    }
+
+    public synchronized long skippedBusy() {
+        return skippedBusy;
+    }
+
+    public synchronized long skippedThrottled() {
+        return skippedThrottled;
+    }
+
+    private long intervalNanos() {
+        double fps = currentFps();
+        return fps > 0 ? (long) (1e9 / fps) : 0;
+    }
+}
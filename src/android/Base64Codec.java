@@ -0,0 +1,128 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.Arrays;
+
+/**
+ * Standard-alphabet base64 for image payloads crossing the bridge.
+ *
+ * Decodes straight from the JS string into an exact-size array (no
+ * intermediate copy of the string's bytes), skipping whitespace and an
+ * optional {@code data:...;base64,} prefix. Encodes from a slice of a
+ * buffer, so callers can pass an output stream's backing array without
+ * copying it first.
+ */
+public final class Base64Codec {
+
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private static final int SKIP = -2;
+    private static final int INVALID = -1;
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, INVALID);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+        // URL-safe variants decode to the same values
+        DECODE['-'] = 62;
+        DECODE['_'] = 63;
+        DECODE[' '] = SKIP;
+        DECODE['\n'] = SKIP;
+        DECODE['\r'] = SKIP;
+        DECODE['\t'] = SKIP;
+    }
+
+    private Base64Codec() {}
+
+    /**
+     * Decodes {@code input}. Padding is optional, but if present it must end
+     * the input (apart from whitespace) and match the length.
+     *
+     * @throws IllegalArgumentException if the input is not valid base64
+     */
+    public static byte[] decode(String input) {
+        int start = 0;
+        if (input.startsWith("data:")) {
+            int comma = input.indexOf(',');
+            if (comma < 0) throw new IllegalArgumentException("Malformed data URI");
+            start = comma + 1;
+        }
+
+        int end = input.length();
+        int symbols = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '=') {
+                end = i;
+                break;
+            }
+            int value = c < 128 ? DECODE[c] : INVALID;
+            if (value == INVALID) throw new IllegalArgumentException("Invalid base64 character");
+            if (value != SKIP) symbols++;
+        }
+        if (symbols % 4 == 1) throw new IllegalArgumentException("Truncated base64 input");
+
+        int padding = 0;
+        for (int i = end; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '=') {
+                padding++;
+            } else if (c >= 128 || DECODE[c] != SKIP) {
+                throw new IllegalArgumentException("Data after base64 padding");
+            }
+        }
+        if (padding > 0 && (symbols + padding) % 4 != 0) {
+            throw new IllegalArgumentException("Invalid base64 padding");
+        }
+
+        byte[] out = new byte[symbols / 4 * 3 + Math.max(0, symbols % 4 - 1)];
+        int outIndex = 0;
+        int accumulator = 0;
+        int pending = 0;
+        for (int i = start; i < end; i++) {
+            int value = DECODE[input.charAt(i)];
+            if (value == SKIP) continue;
+            accumulator = (accumulator << 6) | value;
+            if (++pending == 4) {
+                out[outIndex++] = (byte) (accumulator >> 16);
+                out[outIndex++] = (byte) (accumulator >> 8);
+                out[outIndex++] = (byte) accumulator;
+                accumulator = 0;
+                pending = 0;
+            }
+        }
+        if (pending == 3) {
+            out[outIndex++] = (byte) (accumulator >> 10);
+            out[outIndex] = (byte) (accumulator >> 2);
+        } else if (pending == 2) {
+            out[outIndex] = (byte) (accumulator >> 4);
+        }
+        return out;
+    }
+
+    /** Encodes {@code length} bytes of {@code data} from {@code offset}, padded, without line breaks. */
+    public static String encode(byte[] data, int offset, int length) {
+        char[] out = new char[(length + 2) / 3 * 4];
+        int outIndex = 0;
+        int end = offset + length;
+        int i = offset;
+        for (; i + 2 < end; i += 3) {
+            int bits = (data[i] & 0xff) << 16 | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff);
+            out[outIndex++] = ALPHABET[bits >>> 18];
+            out[outIndex++] = ALPHABET[(bits >>> 12) & 0x3f];
+            out[outIndex++] = ALPHABET[(bits >>> 6) & 0x3f];
+            out[outIndex++] = ALPHABET[bits & 0x3f];
+        }
+        int remaining = end - i;
+        if (remaining > 0) {
+            int bits = (data[i] & 0xff) << 16 | (remaining == 2 ? (data[i + 1] & 0xff) << 8 : 0);
+            out[outIndex++] = ALPHABET[bits >>> 18];
+            out[outIndex++] = ALPHABET[(bits >>> 12) & 0x3f];
+            out[outIndex++] = remaining == 2 ? ALPHABET[(bits >>> 6) & 0x3f] : '=';
+            out[outIndex] = '=';
+        }
+        return new String(out);
+    }
+}
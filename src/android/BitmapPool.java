@@ -0,0 +1,161 @@
+package com.auphansoftware.cordova.visionocr;
+
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable ARGB bitmaps kept for reuse — as {@code inBitmap} for decodes and
+ * as drawing targets for scaling and rotation — so the capture and OCR paths
+ * stop allocating a fresh full-resolution bitmap for every step.
+ *
+ * Free bitmaps are grouped by allocation size into power-of-two buckets, and
+ * a request is served from its own bucket or the next one up, never with a
+ * bitmap more than twice the size it needs. All free bitmaps together stay
+ * within one byte budget; past it, and on {@link #onTrimMemory}, the largest
+ * are recycled first. Bitmaps in use are not counted: callers hand them back
+ * with {@link #put} once they are done.
+ */
+public final class BitmapPool {
+
+    /** A bitmap is reused only for requests at least 1/MAX_OVERSIZE of its size. */
+    private static final int MAX_OVERSIZE = 2;
+
+    private final TreeMap<Integer, ArrayDeque<Bitmap>> buckets = new TreeMap<>();
+    private final long maxBytes;
+    private long sizeBytes = 0;
+    private int entries = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long trims = 0;
+
+    public BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** A mutable ARGB_8888 bitmap of exactly this size, pixels undefined; reused if possible. */
+    public Bitmap obtain(int width, int height) {
+        Bitmap bitmap = take(4L * width * height);
+        if (bitmap != null) {
+            try {
+                bitmap.reconfigure(width, height, Bitmap.Config.ARGB_8888);
+                return bitmap;
+            } catch (IllegalArgumentException e) {
+                bitmap.recycle();
+            }
+        }
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /** A free bitmap with room for {@code byteCount} bytes, e.g. for {@code inBitmap}; null if none fits. */
+    public synchronized Bitmap take(long byteCount) {
+        int bucket = bucketOf(byteCount);
+        for (int key = bucket; key <= bucket + 1; key++) {
+            ArrayDeque<Bitmap> free = buckets.get(key);
+            if (free == null) continue;
+            Iterator<Bitmap> candidates = free.iterator();
+            while (candidates.hasNext()) {
+                Bitmap bitmap = candidates.next();
+                long size = bitmap.getAllocationByteCount();
+                if (size < byteCount || size > MAX_OVERSIZE * byteCount) continue;
+                candidates.remove();
+                if (free.isEmpty()) buckets.remove(key);
+                sizeBytes -= size;
+                entries--;
+                hits++;
+                return bitmap;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Hands a bitmap back once nothing uses it any more. Immutable bitmaps
+     * and bitmaps larger than the whole budget are recycled instead.
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) return;
+        long size = bitmap.getAllocationByteCount();
+        if (!bitmap.isMutable() || size > maxBytes) {
+            bitmap.recycle();
+            return;
+        }
+        int bucket = bucketOf(size);
+        ArrayDeque<Bitmap> free = buckets.get(bucket);
+        if (free == null) {
+            free = new ArrayDeque<>();
+            buckets.put(bucket, free);
+        }
+        free.offerFirst(bitmap);
+        sizeBytes += size;
+        entries++;
+        trimToSize(maxBytes);
+    }
+
+    /** Recycles free bitmaps, largest first, until at most {@code bytes} are kept. */
+    public synchronized void trimToSize(long bytes) {
+        while (sizeBytes > bytes && !buckets.isEmpty()) {
+            Map.Entry<Integer, ArrayDeque<Bitmap>> largest = buckets.lastEntry();
+            Bitmap bitmap = largest.getValue().pollLast();
+            if (largest.getValue().isEmpty()) buckets.remove(largest.getKey());
+            sizeBytes -= bitmap.getAllocationByteCount();
+            entries--;
+            evictions++;
+            bitmap.recycle();
+        }
+    }
+
+    public void clear() {
+        trimToSize(0);
+    }
+
+    /**
+     * Gives memory back for a {@link ComponentCallbacks2} trim level: all of
+     * it when the app is in the background or memory is critically low, half
+     * of it while the app runs but memory is getting low.
+     */
+    public synchronized void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            trimToSize(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            trimToSize(maxBytes / 2);
+        } else {
+            return;
+        }
+        trims++;
+    }
+
+    /** Zeroes the hit/miss/eviction/trim counters; pooled bitmaps are kept. */
+    public synchronized void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        trims = 0;
+    }
+
+    public synchronized long hits() { return hits; }
+
+    public synchronized long misses() { return misses; }
+
+    public synchronized long evictions() { return evictions; }
+
+    public synchronized long trims() { return trims; }
+
+    public synchronized int entryCount() { return entries; }
+
+    public synchronized long sizeBytes() { return sizeBytes; }
+
+    public long maxBytes() { return maxBytes; }
+
+    /** Power-of-two bucket holding allocations of up to 2^bucket bytes. */
+    private static int bucketOf(long byteCount) {
+        return 64 - Long.numberOfLeadingZeros(Math.max(1, byteCount) - 1);
+    }
+}
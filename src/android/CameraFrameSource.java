@@ -0,0 +1,64 @@
+package com.auphansoftware.cordova.visionocr;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+/**
+ * The CameraX analyzer as a {@link FrameSource}: packs each YUV_420_888
+ * frame into a sink-provided NV21 buffer with a single copy and closes the
+ * ImageProxy straight away, so CameraX can reuse its buffer while the frame
+ * is being analyzed.
+ */
+public final class CameraFrameSource implements FrameSource, ImageAnalysis.Analyzer {
+
+    private final StageMetrics metrics;
+    private volatile Sink sink;
+
+    public CameraFrameSource(StageMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void start(Sink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void stop() {
+        sink = null;
+    }
+
+    @Override
+    public void analyze(@NonNull ImageProxy imageProxy) {
+        Sink target = sink;
+        if (target == null) {
+            imageProxy.close();
+            return;
+        }
+
+        int width = imageProxy.getWidth();
+        int height = imageProxy.getHeight();
+        int rotation = imageProxy.getImageInfo().getRotationDegrees();
+        long timestamp = imageProxy.getImageInfo().getTimestamp();
+
+        long convertStart = System.nanoTime();
+        byte[] nv21 = target.obtainBuffer(width, height);
+        try {
+            ImageProxy.PlaneProxy[] planes = imageProxy.getPlanes();
+            Nv21Converter.convert(
+                    planes[0].getBuffer(), planes[0].getRowStride(),
+                    planes[1].getBuffer(), planes[2].getBuffer(),
+                    planes[1].getRowStride(), planes[1].getPixelStride(),
+                    width, height, nv21);
+        } catch (RuntimeException e) {
+            target.discardBuffer(nv21);
+            return;
+        } finally {
+            imageProxy.close();
+        }
+        metrics.record("analyzer.convert", System.nanoTime() - convertStart);
+
+        target.onFrame(nv21, width, height, rotation, timestamp);
+    }
+}
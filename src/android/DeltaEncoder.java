@@ -0,0 +1,58 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns successive sets of tracked lines into added / updated / removed
+ * changes, keyed by the tracks' stable ids, so live results only carry what
+ * differs from the previous emission.
+ */
+public final class DeltaEncoder {
+
+    /** Box movement (normalized) below which a line with unchanged text is not re-sent. */
+    private static final double MOVE_TOLERANCE = 0.01;
+
+    /** Changes since the previous call to {@link #diff}. */
+    public static final class Delta {
+        public final List<LineTracker.Track> added = new ArrayList<>();
+        public final List<LineTracker.Track> updated = new ArrayList<>();
+        public final List<Long> removed = new ArrayList<>();
+
+        public boolean isEmpty() {
+            return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private Map<Long, OcrLine> previous = new HashMap<>();
+
+    public synchronized Delta diff(List<LineTracker.Track> tracks) {
+        Delta delta = new Delta();
+        Map<Long, OcrLine> current = new HashMap<>();
+
+        for (LineTracker.Track track : tracks) {
+            OcrLine line = track.line();
+            OcrLine before = previous.remove(track.id);
+            if (before == null) {
+                delta.added.add(track);
+                current.put(track.id, line);
+            } else if (!before.text.equals(line.text) || hasMoved(before, line)) {
+                delta.updated.add(track);
+                current.put(track.id, line);
+            } else {
+                current.put(track.id, before); // keep the emitted box as the reference
+            }
+        }
+
+        delta.removed.addAll(previous.keySet());
+        previous = current;
+        return delta;
+    }
+
+    private static boolean hasMoved(OcrLine a, OcrLine b) {
+        return Math.abs(a.x - b.x) > MOVE_TOLERANCE || Math.abs(a.y - b.y) > MOVE_TOLERANCE
+                || Math.abs(a.width - b.width) > MOVE_TOLERANCE || Math.abs(a.height - b.height) > MOVE_TOLERANCE;
+    }
+}
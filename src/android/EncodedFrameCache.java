@@ -0,0 +1,70 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoded (base64) copies of the latest frame, keyed by {@link FrameEncoding}.
+ *
+ * Only one frame generation is held at a time: asking for or storing a newer
+ * generation drops everything encoded from older ones, so repeated captures
+ * of an unchanged frame — a preview-thumbnail loop, say — encode it once per
+ * encoding, and memory never grows past the last few variants of one frame.
+ */
+public final class EncodedFrameCache {
+
+    /** Encodings kept per generation, least recently used dropped first. */
+    public static final int MAX_VARIANTS = 4;
+
+    private final LinkedHashMap<String, String> variants = new LinkedHashMap<>(8, 0.75f, true);
+    private long generation = -1;
+    private long hits = 0;
+    private long misses = 0;
+
+    /** Encoded frame of {@code generation}, or null if it has not been encoded that way. */
+    public synchronized String get(long generation, FrameEncoding encoding) {
+        advanceTo(generation);
+        String encoded = generation == this.generation ? variants.get(encoding.key()) : null;
+        if (encoded == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return encoded;
+    }
+
+    /** Stores an encoding; ignored if a newer generation has been seen meanwhile. */
+    public synchronized void put(long generation, FrameEncoding encoding, String encoded) {
+        advanceTo(generation);
+        if (generation != this.generation) return;
+        variants.put(encoding.key(), encoded);
+        Iterator<Map.Entry<String, String>> eldest = variants.entrySet().iterator();
+        while (variants.size() > MAX_VARIANTS && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /** Drops every entry. Hit/miss counters are kept. */
+    public synchronized void clear() {
+        variants.clear();
+    }
+
+    /** Zeroes the hit/miss counters; entries are kept. */
+    public synchronized void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public synchronized long hits() { return hits; }
+
+    public synchronized long misses() { return misses; }
+
+    private void advanceTo(long generation) {
+        if (generation > this.generation) {
+            variants.clear();
+            this.generation = generation;
+        }
+    }
+}
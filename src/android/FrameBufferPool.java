@@ -0,0 +1,43 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayDeque;
+
+/**
+ * Recycles frame-sized byte arrays so the analysis path does not allocate
+ * once it reaches steady state.
+ *
+ * The pool holds buffers of a single size — the current analysis resolution.
+ * Asking for a different size (e.g. after a camera switch) drops the retained
+ * buffers and starts over at the new size.
+ */
+public final class FrameBufferPool {
+
+    private final int maxRetained;
+    private final ArrayDeque<byte[]> free;
+    private int bufferSize = -1;
+
+    public FrameBufferPool(int maxRetained) {
+        this.maxRetained = maxRetained;
+        this.free = new ArrayDeque<>(maxRetained);
+    }
+
+    /** Returns a buffer of exactly {@code size} bytes, reusing one if possible. */
+    public synchronized byte[] acquire(int size) {
+        if (size != bufferSize) {
+            free.clear();
+            bufferSize = size;
+        }
+        byte[] buffer = free.pollFirst();
+        return buffer != null ? buffer : new byte[size];
+    }
+
+    /** Hands a buffer back. Buffers of a stale size are left to the GC. */
+    public synchronized void release(byte[] buffer) {
+        if (buffer == null || buffer.length != bufferSize || free.size() >= maxRetained) return;
+        free.offerFirst(buffer);
+    }
+
+    public synchronized void clear() {
+        free.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Decides whether a live frame differs enough from the last recognized one
+ * to be worth running OCR on again.
+ *
+ * Each frame's luma plane is reduced to a coarse grid of block means (a few
+ * hundred sampled pixels), and the score is the mean absolute difference, in
+ * luma levels, between that grid and the grid of the last frame that was let
+ * through. A forced refresh interval makes sure a still scene is still
+ * re-read now and then. Allocates nothing per frame.
+ */
+public final class FrameChangeDetector {
+
+    private static final int GRID_COLUMNS = 16;
+    private static final int GRID_ROWS = 12;
+    private static final int SAMPLES_PER_BLOCK_EDGE = 4;
+
+    private final int[] current = new int[GRID_COLUMNS * GRID_ROWS];
+    private final int[] reference = new int[GRID_COLUMNS * GRID_ROWS];
+    private boolean hasReference = false;
+    private long referenceTimestampNanos = 0;
+
+    private double threshold;
+    private long refreshIntervalNanos;
+    private double lastScore = 0;
+    private long skippedFrames = 0;
+
+    /**
+     * @param threshold         minimum score to count as a change; 0 lets every frame through
+     * @param refreshIntervalMs let a frame through after this long even without a change; 0 = never
+     */
+    public FrameChangeDetector(double threshold, long refreshIntervalMs) {
+        configure(threshold, refreshIntervalMs);
+    }
+
+    public synchronized void configure(double threshold, long refreshIntervalMs) {
+        this.threshold = threshold;
+        this.refreshIntervalNanos = refreshIntervalMs * 1_000_000L;
+        reset();
+    }
+
+    /** Forgets the reference frame so the next frame is always let through. */
+    public synchronized void reset() {
+        hasReference = false;
+        skippedFrames = 0;
+    }
+
+    /**
+     * True if the frame should be recognized. When it returns true the frame
+     * becomes the new reference.
+     *
+     * @param luma     luma samples, row-major
+     * @param rowStride bytes between rows in {@code luma}
+     */
+    public synchronized boolean shouldProcess(byte[] luma, int rowStride, int width, int height, long timestampNanos) {
+        if (threshold <= 0) return true;
+
+        computeSignature(luma, rowStride, width, height, current);
+
+        boolean due = !hasReference
+                || (refreshIntervalNanos > 0 && timestampNanos - referenceTimestampNanos >= refreshIntervalNanos);
+        if (!due) {
+            long total = 0;
+            for (int i = 0; i < current.length; i++) {
+                total += Math.abs(current[i] - reference[i]);
+            }
+            lastScore = (double) total / current.length;
+            if (lastScore < threshold) {
+                skippedFrames++;
+                return false;
+            }
+        }
+
+        System.arraycopy(current, 0, reference, 0, current.length);
+        hasReference = true;
+        referenceTimestampNanos = timestampNanos;
+        return true;
+    }
+
+    /** Zeroes the skipped-frame counter; the reference frame is kept. */
+    public synchronized void resetCounters() {
+        skippedFrames = 0;
+    }
+
+    public synchronized double lastScore() {
+        return lastScore;
+    }
+
+    public synchronized long skippedFrames() {
+        return skippedFrames;
+    }
+
+    private static void computeSignature(byte[] luma, int rowStride, int width, int height, int[] out) {
+        int blockWidth = Math.max(1, width / GRID_COLUMNS);
+        int blockHeight = Math.max(1, height / GRID_ROWS);
+        int stepX = Math.max(1, blockWidth / SAMPLES_PER_BLOCK_EDGE);
+        int stepY = Math.max(1, blockHeight / SAMPLES_PER_BLOCK_EDGE);
+
+        for (int gy = 0; gy < GRID_ROWS; gy++) {
+            int top = gy * blockHeight;
+            int bottom = Math.min(height, top + blockHeight);
+            for (int gx = 0; gx < GRID_COLUMNS; gx++) {
+                int left = gx * blockWidth;
+                int right = Math.min(width, left + blockWidth);
+                int sum = 0;
+                int count = 0;
+                for (int y = top; y < bottom; y += stepY) {
+                    int rowStart = y * rowStride;
+                    for (int x = left; x < right; x += stepX) {
+                        sum += luma[rowStart + x] & 0xFF;
+                        count++;
+                    }
+                }
+                out[gy * GRID_COLUMNS + gx] = count > 0 ? sum / count : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONObject;
+
+import java.util.Locale;
+
+/**
+ * How a captured frame is encoded: format, quality, largest output dimension
+ * and whether the pixels are rotated upright. Parsed from the options of
+ * captureFrame / capturePhoto / auto-capture.
+ */
+public final class FrameEncoding {
+
+    public static final String JPEG = "jpeg";
+    public static final String WEBP = "webp";
+    public static final int DEFAULT_QUALITY = 85;
+
+    public static final FrameEncoding DEFAULT = new FrameEncoding(JPEG, DEFAULT_QUALITY, 0, false);
+
+    public final String format;
+    public final int quality;
+    /** Longest edge of the output in pixels; 0 = frame size. */
+    public final int maxDimension;
+    /**
+     * Rotate the pixels upright instead of tagging a JPEG with its EXIF
+     * orientation. Always true for WebP, which has no orientation tag here.
+     */
+    public final boolean upright;
+
+    public FrameEncoding(String format, int quality, int maxDimension, boolean upright) {
+        this.format = format;
+        this.quality = quality;
+        this.maxDimension = maxDimension;
+        this.upright = upright || WEBP.equals(format);
+    }
+
+    /**
+     * Encoding from {@code { format, quality, maxDimension, upright }}; missing
+     * keys take the defaults.
+     *
+     * @throws IllegalArgumentException for an unknown format
+     */
+    public static FrameEncoding fromOptions(JSONObject options) {
+        if (options == null) return DEFAULT;
+        String format = options.optString("format", JPEG).toLowerCase(Locale.ROOT);
+        if (!JPEG.equals(format) && !WEBP.equals(format)) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        int quality = Math.max(1, Math.min(100, options.optInt("quality", DEFAULT_QUALITY)));
+        int maxDimension = Math.max(0, options.optInt("maxDimension", 0));
+        return new FrameEncoding(format, quality, maxDimension, options.optBoolean("upright", false));
+    }
+
+    public boolean isJpeg() {
+        return JPEG.equals(format);
+    }
+
+    /** Identifies this encoding among the cached variants of a frame. */
+    public String key() {
+        return format + "|" + quality + "|" + maxDimension + "|" + upright;
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,28 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Something that produces NV21 analysis frames: the CameraX analyzer on a
+ * device ({@link CameraFrameSource}) or a recording on disk (the replay
+ * harness in {@code jvm/}). Frames go to a {@link Sink}, normally the
+ * {@link AnalysisPipeline}, so recorded and live frames take the same path.
+ */
+public interface FrameSource {
+
+    /** Receives frames from a source. Calls are made from one thread at a time. */
+    interface Sink {
+        /** Buffer of {@code Nv21Converter.nv21Size(width, height)} bytes to fill with the next frame. */
+        byte[] obtainBuffer(int width, int height);
+
+        /** Returns a buffer from {@link #obtainBuffer} that was not filled after all. */
+        void discardBuffer(byte[] buffer);
+
+        /** Delivers a filled buffer; the sink takes ownership of {@code nv21}. */
+        void onFrame(byte[] nv21, int width, int height, int rotationDegrees, long timestampNanos);
+    }
+
+    /** Starts delivering frames to {@code sink}. */
+    void start(Sink sink);
+
+    /** Stops delivering frames. */
+    void stop();
+}
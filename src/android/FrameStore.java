@@ -0,0 +1,84 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Holds the most recent analysis frame as raw NV21 bytes plus its metadata.
+ *
+ * The analyzer publishes every frame here with a single copy into a pooled
+ * buffer; nothing is decoded or rotated until a consumer actually asks for
+ * the frame. Consumers take a reference with {@link #acquire()} and must
+ * {@link #release(Frame)} it, so a frame superseded while it is being read
+ * keeps its buffer until the reader is done.
+ */
+public final class FrameStore {
+
+    /** One analysis frame, NV21 in sensor orientation. */
+    public static final class Frame {
+        public final byte[] nv21;
+        public final int width;
+        public final int height;
+        public final int rotationDegrees;
+        public final long generation;
+        public final long timestampNanos;
+
+        private int refCount = 1; // the store's own reference
+
+        Frame(byte[] nv21, int width, int height, int rotationDegrees, long generation, long timestampNanos) {
+            this.nv21 = nv21;
+            this.width = width;
+            this.height = height;
+            this.rotationDegrees = rotationDegrees;
+            this.generation = generation;
+            this.timestampNanos = timestampNanos;
+        }
+    }
+
+    private final FrameBufferPool pool;
+    private Frame latest;
+    private long generation = 0;
+
+    public FrameStore(FrameBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /** Buffer for the next frame; pass it back through {@link #publish}. */
+    public byte[] obtainBuffer(int width, int height) {
+        return pool.acquire(Nv21Converter.nv21Size(width, height));
+    }
+
+    /** Returns a buffer from {@link #obtainBuffer} that is not going to be published. */
+    public void recycle(byte[] nv21) {
+        pool.release(nv21);
+    }
+
+    /** Makes {@code nv21} the latest frame. The store takes ownership of the buffer. */
+    public synchronized void publish(byte[] nv21, int width, int height, int rotationDegrees, long timestampNanos) {
+        Frame previous = latest;
+        latest = new Frame(nv21, width, height, rotationDegrees, ++generation, timestampNanos);
+        if (previous != null) releaseLocked(previous);
+    }
+
+    /** Latest frame with an added reference, or null if there is none. */
+    public synchronized Frame acquire() {
+        if (latest == null) return null;
+        latest.refCount++;
+        return latest;
+    }
+
+    public synchronized void release(Frame frame) {
+        if (frame != null) releaseLocked(frame);
+    }
+
+    /** Drops the latest frame, e.g. when the camera session ends. */
+    public synchronized void clear() {
+        if (latest != null) {
+            releaseLocked(latest);
+            latest = null;
+        }
+    }
+
+    private void releaseLocked(Frame frame) {
+        if (--frame.refCount == 0) {
+            pool.release(frame.nv21);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Size arithmetic for downscaling, shared by the decode and capture paths.
+ */
+public final class ImageMath {
+
+    private ImageMath() {}
+
+    /**
+     * Largest power-of-two subsample factor that keeps the longest edge at or
+     * above {@code maxSize}, so the final exact scale is always a downscale.
+     */
+    public static int sampleSize(int width, int height, int maxSize) {
+        int longestEdge = Math.max(width, height);
+        if (maxSize <= 0 || longestEdge <= maxSize) return 1;
+        int sampleSize = 1;
+        while (longestEdge / (sampleSize * 2) >= maxSize) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Dimensions after fitting the longest edge within {@code maxSize}, as
+     * {@code {width, height}}. Unchanged if the image already fits.
+     */
+    public static int[] fitWithin(int width, int height, int maxSize) {
+        int longestEdge = Math.max(width, height);
+        if (maxSize <= 0 || longestEdge <= maxSize) return new int[] { width, height };
+        float scale = (float) maxSize / longestEdge;
+        return new int[] { Math.round(width * scale), Math.round(height * scale) };
+    }
+
+    /** Upper bound on a dimension after decoding with {@code sampleSize}. */
+    public static int sampledDimension(int dimension, int sampleSize) {
+        return (dimension + sampleSize - 1) / sampleSize;
+    }
+}
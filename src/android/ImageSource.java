@@ -0,0 +1,21 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Tells a recognizeText input that names a file apart from base64 image
+ * data. Only explicit schemes count: base64 JPEG data starts with "/9j/",
+ * so a leading slash says nothing about whether the input is a path.
+ */
+public final class ImageSource {
+
+    private static final String[] SCHEMES = { "file://", "content://", "cdvfile://" };
+
+    private ImageSource() {}
+
+    /** True if {@code image} is a file, content or cdvfile URI rather than base64 data. */
+    public static boolean isUri(String image) {
+        for (String scheme : SCHEMES) {
+            if (image.startsWith(scheme)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,146 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a large image into overlapping tiles for recognition at full
+ * resolution, and merges the lines recognized in the tiles back into one
+ * full-image result.
+ *
+ * Tiles are spread evenly over the image, so they all have about the same
+ * size and every pair of neighbours shares at least the requested overlap.
+ * A line that lies inside an overlap band is found by both tiles; one that
+ * crosses a tile edge is found in two pieces that share the text in the
+ * band. {@link #merge} drops the duplicates and joins the pieces.
+ */
+public final class ImageTiler {
+
+    /** Two boxes are on the same text row if they share this much of the lower one's height. */
+    private static final double SAME_ROW_OVERLAP = 0.5;
+    /** Boxes this similar are one line read twice, even if the texts differ. */
+    private static final double DUPLICATE_IOU = 0.6;
+    /** Shortest text two pieces of a cut line must share to be joined. */
+    private static final int MIN_JOIN_CHARS = 2;
+
+    private ImageTiler() {}
+
+    /**
+     * Pixel rectangles {@code {left, top, width, height}} covering
+     * {@code region}, each at most {@code tileSize} on a side, neighbours
+     * overlapping by at least {@code overlap} (capped at half a tile).
+     * A region that fits in one tile gives one tile.
+     */
+    public static List<int[]> plan(int[] region, int tileSize, int overlap) {
+        overlap = Math.max(0, Math.min(overlap, tileSize / 2));
+        int[] xs = spans(region[2], tileSize, overlap);
+        int[] ys = spans(region[3], tileSize, overlap);
+        List<int[]> tiles = new ArrayList<>((xs.length / 2) * (ys.length / 2));
+        for (int row = 0; row < ys.length; row += 2) {
+            for (int column = 0; column < xs.length; column += 2) {
+                tiles.add(new int[] { region[0] + xs[column], region[1] + ys[row], xs[column + 1], ys[row + 1] });
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Lines of all tiles as one result: a line found by two tiles is kept
+     * once, and pieces of a line cut by a tile edge are joined. Boxes must
+     * already be normalized to the full image. Sorted top to bottom, then
+     * left to right.
+     */
+    public static List<OcrLine> merge(List<OcrLine> lines) {
+        List<OcrLine> merged = new ArrayList<>(lines.size());
+        for (OcrLine line : lines) {
+            OcrLine current = line;
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < merged.size(); i++) {
+                    OcrLine combined = combine(merged.get(i), current);
+                    if (combined != null) {
+                        merged.remove(i);
+                        current = combined;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+            merged.add(current);
+        }
+        Collections.sort(merged, (a, b) -> a.y != b.y ? Double.compare(a.y, b.y) : Double.compare(a.x, b.x));
+        return merged;
+    }
+
+    /** {@code a} and {@code b} as one line, or null if they are different lines. */
+    static OcrLine combine(OcrLine a, OcrLine b) {
+        double rowOverlap = Math.min(a.y + a.height, b.y + b.height) - Math.max(a.y, b.y);
+        if (rowOverlap < SAME_ROW_OVERLAP * Math.min(a.height, b.height)) return null;
+        if (Math.min(a.x + a.width, b.x + b.width) <= Math.max(a.x, b.x)) return null;
+
+        String textA = a.text.trim();
+        String textB = b.text.trim();
+        if (textA.contains(textB)) return a;
+        if (textB.contains(textA)) return b;
+
+        OcrLine left = a.x <= b.x ? a : b;
+        OcrLine right = left == a ? b : a;
+        OcrLine joined = join(left, right);
+        if (joined != null) return joined;
+
+        if (OcrLine.iou(a.x, a.y, a.width, a.height, b.x, b.y, b.width, b.height) >= DUPLICATE_IOU) {
+            return a.confidence >= b.confidence ? a : b;
+        }
+        return null;
+    }
+
+    /**
+     * {@code left} and {@code right} joined where the end of one's text
+     * repeats the start of the other's. The character at each cut edge may
+     * have been misread from half its pixels, so it may be skipped.
+     */
+    private static OcrLine join(OcrLine left, OcrLine right) {
+        String leftText = left.text.trim();
+        String rightText = right.text.trim();
+        for (int skipLeft = 0; skipLeft <= 1; skipLeft++) {
+            for (int skipRight = 0; skipRight <= 1; skipRight++) {
+                String head = leftText.substring(0, Math.max(0, leftText.length() - skipLeft));
+                String tail = rightText.substring(Math.min(rightText.length(), skipRight));
+                int shared = sharedLength(head, tail);
+                if (shared >= MIN_JOIN_CHARS) {
+                    String text = head + tail.substring(shared);
+                    float confidence = (left.confidence * leftText.length() + right.confidence * rightText.length())
+                            / (leftText.length() + rightText.length());
+                    double x = Math.min(left.x, right.x);
+                    double y = Math.min(left.y, right.y);
+                    double width = Math.max(left.x + left.width, right.x + right.width) - x;
+                    double height = Math.max(left.y + left.height, right.y + right.height) - y;
+                    return new OcrLine(text, confidence, x, y, width, height);
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Length of the longest suffix of {@code head} that is also a prefix of {@code tail}. */
+    private static int sharedLength(String head, String tail) {
+        for (int length = Math.min(head.length(), tail.length()); length > 0; length--) {
+            if (head.regionMatches(head.length() - length, tail, 0, length)) return length;
+        }
+        return 0;
+    }
+
+    /** Offsets and lengths, interleaved, of tiles covering {@code length} pixels. */
+    private static int[] spans(int length, int tileSize, int overlap) {
+        int count = length <= tileSize ? 1 : (int) Math.ceil((double) (length - overlap) / (tileSize - overlap));
+        int tileLength = count == 1 ? length : (int) Math.ceil((double) (length + (count - 1) * overlap) / count);
+        int[] spans = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            spans[i * 2] = count == 1 ? 0 : (int) Math.round((double) i * (length - tileLength) / (count - 1));
+            spans[i * 2 + 1] = tileLength;
+        }
+        return spans;
+    }
+}
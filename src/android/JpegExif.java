@@ -0,0 +1,182 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Reads and writes the EXIF orientation tag of a JPEG, so rotation can travel
+ * as metadata instead of being applied to the pixels.
+ *
+ * Only the marker segments before the image data are walked; the compressed
+ * data is copied as is. Mirrored orientations (2, 4, 5, 7) are read but not
+ * turned into rotations — cameras don't produce them.
+ */
+public final class JpegExif {
+
+    public static final int ORIENTATION_NORMAL = 1;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TYPE_SHORT = 3;
+    private static final int MARKER_SOI = 0xD8;
+    private static final int MARKER_SOS = 0xDA;
+    private static final int MARKER_APP0 = 0xE0;
+    private static final int MARKER_APP1 = 0xE1;
+
+    /**
+     * APP1 segment with a little-endian TIFF header and a one-entry IFD0
+     * holding the orientation at {@link #SEGMENT_ORIENTATION_OFFSET}.
+     */
+    private static final byte[] SEGMENT = {
+            (byte) 0xFF, (byte) MARKER_APP1, 0, 34,
+            'E', 'x', 'i', 'f', 0, 0,
+            'I', 'I', 42, 0, 8, 0, 0, 0,            // TIFF header, IFD0 at 8
+            1, 0,                                   // one entry
+            0x12, 0x01, TYPE_SHORT, 0, 1, 0, 0, 0,  // orientation, SHORT, count 1
+            1, 0, 0, 0,                             // value
+            0, 0, 0, 0                              // no next IFD
+    };
+    private static final int SEGMENT_ORIENTATION_OFFSET = 28;
+
+    /** Where an orientation value sits in the data, and its byte order. */
+    private static final class Location {
+        final int position;
+        final boolean littleEndian;
+
+        Location(int position, boolean littleEndian) {
+            this.position = position;
+            this.littleEndian = littleEndian;
+        }
+    }
+
+    private JpegExif() {}
+
+    /** Orientation tag value (1-8), or {@link #ORIENTATION_NORMAL} if there is none. */
+    public static int readOrientation(byte[] jpeg) {
+        Location location = findOrientation(jpeg, 0, jpeg.length);
+        if (location == null) return ORIENTATION_NORMAL;
+        int value = readShort(jpeg, location.position, location.littleEndian);
+        return value >= 1 && value <= 8 ? value : ORIENTATION_NORMAL;
+    }
+
+    /** Clockwise rotation that makes an image with this orientation upright. */
+    public static int rotationDegrees(int orientation) {
+        switch (orientation) {
+            case 6:  return 90;
+            case 3:  return 180;
+            case 8:  return 270;
+            default: return 0;
+        }
+    }
+
+    /** Orientation tag value for a clockwise {@code degrees} rotation (a multiple of 90). */
+    public static int orientationFor(int degrees) {
+        switch (((degrees % 360) + 360) % 360) {
+            case 90:  return 6;
+            case 180: return 3;
+            case 270: return 8;
+            default:  return ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Copy of {@code jpeg[off, off + len)} tagged with {@code orientation}. An
+     * existing orientation tag is overwritten; otherwise a minimal EXIF segment
+     * is inserted after SOI (and after a JFIF APP0 segment, if there is one).
+     *
+     * @throws IllegalArgumentException if the data is not a JPEG
+     */
+    public static byte[] withOrientation(byte[] jpeg, int off, int len, int orientation) {
+        if (len < 4 || (jpeg[off] & 0xFF) != 0xFF || (jpeg[off + 1] & 0xFF) != MARKER_SOI) {
+            throw new IllegalArgumentException("Not a JPEG");
+        }
+
+        Location existing = findOrientation(jpeg, off, len);
+        if (existing != null) {
+            byte[] copy = new byte[len];
+            System.arraycopy(jpeg, off, copy, 0, len);
+            writeShort(copy, existing.position - off, orientation, existing.littleEndian);
+            return copy;
+        }
+
+        int insertAt = off + 2;
+        if (len >= 6 && (jpeg[insertAt] & 0xFF) == 0xFF && (jpeg[insertAt + 1] & 0xFF) == MARKER_APP0) {
+            insertAt += 2 + readShort(jpeg, insertAt + 2, false);
+        }
+        int head = insertAt - off;
+        byte[] out = new byte[len + SEGMENT.length];
+        System.arraycopy(jpeg, off, out, 0, head);
+        System.arraycopy(SEGMENT, 0, out, head, SEGMENT.length);
+        writeShort(out, head + SEGMENT_ORIENTATION_OFFSET, orientation, true);
+        System.arraycopy(jpeg, insertAt, out, head + SEGMENT.length, len - head);
+        return out;
+    }
+
+    /** The orientation value in IFD0 of the first EXIF segment, or null. */
+    private static Location findOrientation(byte[] jpeg, int off, int len) {
+        int end = off + len;
+        if (len < 4 || (jpeg[off] & 0xFF) != 0xFF || (jpeg[off + 1] & 0xFF) != MARKER_SOI) return null;
+
+        int position = off + 2;
+        while (position + 4 <= end) {
+            if ((jpeg[position] & 0xFF) != 0xFF) return null;
+            int marker = jpeg[position + 1] & 0xFF;
+            if (marker == 0xFF) {
+                position++; // fill byte
+                continue;
+            }
+            if (marker == MARKER_SOS) return null;
+            int segmentLength = readShort(jpeg, position + 2, false);
+            int segmentEnd = position + 2 + segmentLength;
+            if (segmentLength < 2 || segmentEnd > end) return null;
+            if (marker == MARKER_APP1 && segmentLength >= 16 && isExifHeader(jpeg, position + 4)) {
+                return findInTiff(jpeg, position + 10, segmentEnd);
+            }
+            position = segmentEnd;
+        }
+        return null;
+    }
+
+    private static Location findInTiff(byte[] jpeg, int tiff, int end) {
+        boolean littleEndian;
+        if (jpeg[tiff] == 'I' && jpeg[tiff + 1] == 'I') {
+            littleEndian = true;
+        } else if (jpeg[tiff] == 'M' && jpeg[tiff + 1] == 'M') {
+            littleEndian = false;
+        } else {
+            return null;
+        }
+        if (readShort(jpeg, tiff + 2, littleEndian) != 42) return null;
+
+        long ifd = tiff + (readInt(jpeg, tiff + 4, littleEndian) & 0xFFFFFFFFL);
+        if (ifd + 2 > end) return null;
+        int entries = readShort(jpeg, (int) ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) return null;
+            if (readShort(jpeg, entry, littleEndian) == TAG_ORIENTATION
+                    && readShort(jpeg, entry + 2, littleEndian) == TYPE_SHORT) {
+                return new Location(entry + 8, littleEndian);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExifHeader(byte[] jpeg, int position) {
+        return jpeg[position] == 'E' && jpeg[position + 1] == 'x' && jpeg[position + 2] == 'i'
+                && jpeg[position + 3] == 'f' && jpeg[position + 4] == 0 && jpeg[position + 5] == 0;
+    }
+
+    private static int readShort(byte[] data, int position, boolean littleEndian) {
+        int a = data[position] & 0xFF;
+        int b = data[position + 1] & 0xFF;
+        return littleEndian ? a | (b << 8) : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] data, int position, boolean littleEndian) {
+        int first = readShort(data, position, littleEndian);
+        int second = readShort(data, position + 2, littleEndian);
+        return littleEndian ? first | (second << 16) : (first << 16) | second;
+    }
+
+    private static void writeShort(byte[] data, int position, int value, boolean littleEndian) {
+        data[position] = (byte) (littleEndian ? value : value >>> 8);
+        data[position + 1] = (byte) (littleEndian ? value >>> 8 : value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.List;
+
+/**
+ * Text recognition as the {@link AnalysisPipeline} sees it: NV21 in, lines
+ * out. Backed by ML Kit on a device; the replay harness in {@code jvm/}
+ * simulates it.
+ */
+public interface LineRecognizer {
+
+    interface Callback {
+        /** Lines with boxes normalized (0-1) to the image as rotated upright. */
+        void onSuccess(List<OcrLine> lines);
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * Recognizes an NV21 image that is upright after rotating it clockwise by
+     * {@code rotationDegrees}. {@code nv21} must stay untouched until the
+     * callback has run; the callback may run on any thread.
+     */
+    void recognize(byte[] nv21, int width, int height, int rotationDegrees, Callback callback);
+}
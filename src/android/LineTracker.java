@@ -0,0 +1,222 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Follows recognized lines across consecutive live frames and fuses their
+ * readings.
+ *
+ * A detection joins an existing track when the boxes overlap and the texts
+ * are within a small edit distance. Each track keeps its recent readings; the
+ * fused text is a per-character majority vote over the readings of the most
+ * common length, which corrects the one-character misreads a single frame
+ * often has. A track is reported only once it has been seen in
+ * {@code stableFrames} consecutive frames.
+ */
+public final class LineTracker {
+
+    private static final double MIN_IOU = 0.3;
+    private static final double MAX_EDIT_RATIO = 0.34;
+    private static final int MAX_MISSED_FRAMES = 2;
+    private static final double BOX_SMOOTHING = 0.5;
+
+    /** A line followed across frames. */
+    public static final class Track {
+        public final long id;
+
+        private final String[] readings;
+        private final float[] confidences;
+        private int readingCount = 0;
+        private int nextReading = 0;
+        private int consecutiveFrames = 0;
+        private int missedFrames = 0;
+        private boolean confirmed = false;
+        private double x;
+        private double y;
+        private double width;
+        private double height;
+        private String fusedText;
+
+        Track(long id, OcrLine line, int window) {
+            this.id = id;
+            this.readings = new String[window];
+            this.confidences = new float[window];
+            this.x = line.x;
+            this.y = line.y;
+            this.width = line.width;
+            this.height = line.height;
+            observe(line);
+        }
+
+        /** Fused reading of this track, with a smoothed box and mean confidence. */
+        public OcrLine line() {
+            float confidence = 0f;
+            for (int i = 0; i < readingCount; i++) confidence += confidences[i];
+            return new OcrLine(fusedText, confidence / readingCount, x, y, width, height);
+        }
+
+        /** Number of readings currently contributing to the vote. */
+        public int observationCount() {
+            return readingCount;
+        }
+
+        String text() {
+            return fusedText;
+        }
+
+        void observe(OcrLine line) {
+            readings[nextReading] = line.text;
+            confidences[nextReading] = line.confidence;
+            nextReading = (nextReading + 1) % readings.length;
+            readingCount = Math.min(readingCount + 1, readings.length);
+            consecutiveFrames++;
+            missedFrames = 0;
+
+            x += (line.x - x) * BOX_SMOOTHING;
+            y += (line.y - y) * BOX_SMOOTHING;
+            width += (line.width - width) * BOX_SMOOTHING;
+            height += (line.height - height) * BOX_SMOOTHING;
+            fusedText = vote();
+        }
+
+        private String latestReading() {
+            return readings[(nextReading - 1 + readings.length) % readings.length];
+        }
+
+        private String vote() {
+            // Most common reading length; ties go to the latest reading's length
+            int length = latestReading().length();
+            int bestCount = 0;
+            for (int i = 0; i < readingCount; i++) {
+                int candidate = readings[i].length();
+                int count = 0;
+                for (int j = 0; j < readingCount; j++) {
+                    if (readings[j].length() == candidate) count++;
+                }
+                if (count > bestCount || (count == bestCount && candidate == latestReading().length())) {
+                    bestCount = count;
+                    length = candidate;
+                }
+            }
+
+            // Per-position majority among readings of that length
+            char[] fused = new char[length];
+            for (int position = 0; position < length; position++) {
+                char best = 0;
+                int bestVotes = 0;
+                for (int i = 0; i < readingCount; i++) {
+                    if (readings[i].length() != length) continue;
+                    char c = readings[i].charAt(position);
+                    int votes = 0;
+                    for (int j = 0; j < readingCount; j++) {
+                        if (readings[j].length() == length && readings[j].charAt(position) == c) votes++;
+                    }
+                    if (votes > bestVotes) {
+                        bestVotes = votes;
+                        best = c;
+                    }
+                }
+                fused[position] = best;
+            }
+            return new String(fused);
+        }
+    }
+
+    private final int stableFrames;
+    private final int window;
+    private final List<Track> tracks = new ArrayList<>();
+    private long nextId = 1;
+
+    /** @param stableFrames consecutive frames a line must be seen in before it is reported */
+    public LineTracker(int stableFrames) {
+        this(stableFrames, Math.max(5, stableFrames * 2));
+    }
+
+    /**
+     * @param stableFrames consecutive frames a line must be seen in before it is reported
+     * @param window       readings kept per track for the vote; 1 reports each frame's raw text
+     */
+    public LineTracker(int stableFrames, int window) {
+        this.stableFrames = Math.max(1, stableFrames);
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Feeds one frame's lines and returns the stable tracks afterwards: those
+     * seen in enough consecutive frames at some point and not lost since for
+     * more than a couple of frames.
+     */
+    public synchronized List<Track> update(List<OcrLine> lines) {
+        int existing = tracks.size();
+        boolean[] matched = new boolean[existing];
+
+        for (OcrLine line : lines) {
+            int best = -1;
+            double bestIou = MIN_IOU;
+            for (int i = 0; i < existing; i++) {
+                if (matched[i]) continue;
+                Track track = tracks.get(i);
+                double iou = OcrLine.iou(track.x, track.y, track.width, track.height,
+                        line.x, line.y, line.width, line.height);
+                if (iou >= bestIou && isSimilar(track.text(), line.text)) {
+                    best = i;
+                    bestIou = iou;
+                }
+            }
+            if (best >= 0) {
+                matched[best] = true;
+                tracks.get(best).observe(line);
+            } else {
+                tracks.add(new Track(nextId++, line, window));
+            }
+        }
+
+        for (int i = 0; i < existing; i++) {
+            if (!matched[i]) {
+                Track track = tracks.get(i);
+                track.missedFrames++;
+                track.consecutiveFrames = 0;
+            }
+        }
+
+        List<Track> stable = new ArrayList<>();
+        Iterator<Track> it = tracks.iterator();
+        while (it.hasNext()) {
+            Track track = it.next();
+            if (track.missedFrames > MAX_MISSED_FRAMES) {
+                it.remove();
+            } else {
+                // Once confirmed, a track stays reported through short dropouts
+                if (track.consecutiveFrames >= stableFrames) track.confirmed = true;
+                if (track.confirmed) stable.add(track);
+            }
+        }
+        return stable;
+    }
+
+    private static boolean isSimilar(String a, String b) {
+        int longest = Math.max(a.length(), b.length());
+        if (longest == 0) return true;
+        return (double) editDistance(a, b) / longest <= MAX_EDIT_RATIO;
+    }
+
+    /** Levenshtein distance. */
+    static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j] + 1, current[j - 1] + 1));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,157 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packs the three planes of a YUV_420_888 image into an NV21 byte array.
+ *
+ * Honors each plane's row stride and pixel stride, so padded rows and both
+ * planar (I420-style) and semi-planar (NV12/NV21-style) chroma layouts come
+ * out correct. Callers supply the output array (see {@link FrameBufferPool})
+ * so nothing is allocated per frame.
+ */
+public final class Nv21Converter {
+
+    private Nv21Converter() {}
+
+    /** Size in bytes of an NV21 image of the given dimensions. */
+    public static int nv21Size(int width, int height) {
+        return width * height + 2 * ((width + 1) / 2) * ((height + 1) / 2);
+    }
+
+    /**
+     * Writes the image into {@code out} as NV21 (full Y plane followed by
+     * interleaved V/U samples). Buffer positions are left unchanged.
+     */
+    public static void convert(ByteBuffer yBuffer, int yRowStride,
+                               ByteBuffer uBuffer, ByteBuffer vBuffer,
+                               int uvRowStride, int uvPixelStride,
+                               int width, int height, byte[] out) {
+        convertRegion(yBuffer, yRowStride, uBuffer, vBuffer, uvRowStride, uvPixelStride,
+                width, 0, 0, width, height, out);
+    }
+
+    /**
+     * Like {@link #convert} but copies only the {@code cropWidth x cropHeight}
+     * region at ({@code cropLeft}, {@code cropTop}). The crop origin must be
+     * even so it lines up with the 4:2:0 chroma grid.
+     */
+    public static void convertRegion(ByteBuffer yBuffer, int yRowStride,
+                                     ByteBuffer uBuffer, ByteBuffer vBuffer,
+                                     int uvRowStride, int uvPixelStride, int imageWidth,
+                                     int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                                     byte[] out) {
+        if ((cropLeft & 1) != 0 || (cropTop & 1) != 0) {
+            throw new IllegalArgumentException("Crop origin must be even");
+        }
+        if (out.length < nv21Size(cropWidth, cropHeight)) {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+
+        copyLuma(yBuffer, yRowStride, imageWidth, cropLeft, cropTop, cropWidth, cropHeight, out);
+
+        int chromaWidth = (cropWidth + 1) / 2;
+        int chromaHeight = (cropHeight + 1) / 2;
+        int chromaTop = cropTop / 2;
+        int offset = cropWidth * cropHeight;
+
+        if (uvPixelStride == 2 && (cropWidth & 1) == 0 && uvRowStride >= imageWidth
+                && isInterleavedVu(uBuffer, vBuffer)) {
+            // The V plane already is VUVU...: copy each row in bulk. The last U
+            // sample of a full-width row lies past the V plane's view, so it
+            // always comes from U.
+            int uPosition = uBuffer.position();
+            int vPosition = vBuffer.position();
+            int rowBytes = chromaWidth * 2;
+            for (int row = 0; row < chromaHeight; row++) {
+                int rowStart = (chromaTop + row) * uvRowStride + cropLeft;
+                vBuffer.position(vPosition + rowStart);
+                vBuffer.get(out, offset, rowBytes - 1);
+                out[offset + rowBytes - 1] = uBuffer.get(uPosition + rowStart + rowBytes - 2);
+                offset += rowBytes;
+            }
+            vBuffer.position(vPosition);
+            return;
+        }
+
+        int uPosition = uBuffer.position();
+        int vPosition = vBuffer.position();
+        int chromaLeft = cropLeft / 2;
+        for (int row = 0; row < chromaHeight; row++) {
+            int rowStart = (chromaTop + row) * uvRowStride;
+            for (int col = 0; col < chromaWidth; col++) {
+                int index = rowStart + (chromaLeft + col) * uvPixelStride;
+                out[offset++] = vBuffer.get(vPosition + index);
+                out[offset++] = uBuffer.get(uPosition + index);
+            }
+        }
+    }
+
+    /**
+     * Copies the {@code cropWidth x cropHeight} region at ({@code cropLeft},
+     * {@code cropTop}) of a packed NV21 image into {@code out} as NV21. The
+     * crop origin must be even.
+     */
+    public static void crop(byte[] nv21, int width, int height,
+                            int cropLeft, int cropTop, int cropWidth, int cropHeight, byte[] out) {
+        if ((cropLeft & 1) != 0 || (cropTop & 1) != 0) {
+            throw new IllegalArgumentException("Crop origin must be even");
+        }
+        if (cropLeft + cropWidth > width || cropTop + cropHeight > height) {
+            throw new IllegalArgumentException("Crop outside the image");
+        }
+        if (out.length < nv21Size(cropWidth, cropHeight)) {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+
+        for (int row = 0; row < cropHeight; row++) {
+            System.arraycopy(nv21, (cropTop + row) * width + cropLeft, out, row * cropWidth, cropWidth);
+        }
+
+        // VU rows: a crop column offset of 2n bytes is chroma column n
+        int chromaStride = 2 * ((width + 1) / 2);
+        int chromaRowBytes = 2 * ((cropWidth + 1) / 2);
+        int chromaStart = width * height + (cropTop / 2) * chromaStride + cropLeft;
+        int offset = cropWidth * cropHeight;
+        for (int row = 0; row < (cropHeight + 1) / 2; row++) {
+            System.arraycopy(nv21, chromaStart + row * chromaStride, out, offset, chromaRowBytes);
+            offset += chromaRowBytes;
+        }
+    }
+
+    private static void copyLuma(ByteBuffer yBuffer, int yRowStride, int imageWidth,
+                                 int cropLeft, int cropTop, int cropWidth, int cropHeight, byte[] out) {
+        int yPosition = yBuffer.position();
+        if (yRowStride == imageWidth && cropWidth == imageWidth && cropLeft == 0) {
+            yBuffer.position(yPosition + cropTop * yRowStride);
+            yBuffer.get(out, 0, cropWidth * cropHeight);
+        } else {
+            int offset = 0;
+            for (int row = 0; row < cropHeight; row++) {
+                yBuffer.position(yPosition + (cropTop + row) * yRowStride + cropLeft);
+                yBuffer.get(out, offset, cropWidth);
+                offset += cropWidth;
+            }
+        }
+        yBuffer.position(yPosition);
+    }
+
+    /**
+     * True when U and V are views into one interleaved VU buffer, i.e. the byte
+     * after each V sample is the matching U sample. Detected by writing through
+     * U and reading back through V, as CameraX itself does.
+     */
+    private static boolean isInterleavedVu(ByteBuffer uBuffer, ByteBuffer vBuffer) {
+        if (uBuffer.isReadOnly() || vBuffer.remaining() < 2) return false;
+        int uIndex = uBuffer.position();
+        int vIndex = vBuffer.position() + 1;
+        byte savedU = uBuffer.get(uIndex);
+        byte probe = (byte) ~vBuffer.get(vIndex);
+        try {
+            uBuffer.put(uIndex, probe);
+            return vBuffer.get(vIndex) == probe;
+        } finally {
+            uBuffer.put(uIndex, savedU);
+        }
+    }
+}
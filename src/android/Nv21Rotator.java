@@ -0,0 +1,89 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Rotates an NV21 image clockwise by a multiple of 90 degrees.
+ *
+ * Rotating the YUV data before JPEG encoding is a byte shuffle over 1.5
+ * bytes per pixel, where rotating the decoded bitmap moves 4 bytes per pixel
+ * and allocates a second full-size bitmap. VU chroma pairs move as one unit.
+ * The caller supplies the output array.
+ */
+public final class Nv21Rotator {
+
+    private Nv21Rotator() {}
+
+    /** True if {@link #rotate} can handle an image of this size (both dimensions even). */
+    public static boolean canRotate(int width, int height) {
+        return (width & 1) == 0 && (height & 1) == 0;
+    }
+
+    /**
+     * Writes {@code nv21} rotated clockwise by {@code degrees} into
+     * {@code out}. For 90 and 270 the output is {@code height x width}.
+     * {@code out} must not be {@code nv21}.
+     */
+    public static void rotate(byte[] nv21, int width, int height, int degrees, byte[] out) {
+        if (!canRotate(width, height)) {
+            throw new IllegalArgumentException("NV21 dimensions must be even");
+        }
+        int size = Nv21Converter.nv21Size(width, height);
+        if (out.length < size) {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+        int normalized = ((degrees % 360) + 360) % 360;
+        if (normalized == 0) {
+            System.arraycopy(nv21, 0, out, 0, size);
+            return;
+        }
+
+        int lumaSize = width * height;
+        rotatePlane(nv21, 0, width, height, 1, normalized, out, 0);
+        rotatePlane(nv21, lumaSize, width / 2, height / 2, 2, normalized, out, lumaSize);
+    }
+
+    /**
+     * Rotates one plane of {@code w x h} samples of {@code bytesPerSample}
+     * bytes each, writing the output sequentially.
+     */
+    private static void rotatePlane(byte[] src, int srcOffset, int w, int h, int bytesPerSample,
+                                    int degrees, byte[] out, int outOffset) {
+        int outIndex = outOffset;
+        switch (degrees) {
+            case 90:
+                // Output row r is source column r, read bottom to top
+                for (int column = 0; column < w; column++) {
+                    int srcIndex = srcOffset + ((h - 1) * w + column) * bytesPerSample;
+                    int step = w * bytesPerSample;
+                    for (int i = 0; i < h; i++) {
+                        out[outIndex++] = src[srcIndex];
+                        if (bytesPerSample == 2) out[outIndex++] = src[srcIndex + 1];
+                        srcIndex -= step;
+                    }
+                }
+                break;
+            case 180: {
+                int srcIndex = srcOffset + (w * h - 1) * bytesPerSample;
+                for (int i = w * h; i > 0; i--) {
+                    out[outIndex++] = src[srcIndex];
+                    if (bytesPerSample == 2) out[outIndex++] = src[srcIndex + 1];
+                    srcIndex -= bytesPerSample;
+                }
+                break;
+            }
+            case 270:
+                // Output row r is source column w - 1 - r, read top to bottom
+                for (int column = w - 1; column >= 0; column--) {
+                    int srcIndex = srcOffset + column * bytesPerSample;
+                    int step = w * bytesPerSample;
+                    for (int i = 0; i < h; i++) {
+                        out[outIndex++] = src[srcIndex];
+                        if (bytesPerSample == 2) out[outIndex++] = src[srcIndex + 1];
+                        srcIndex += step;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Rotation must be a multiple of 90");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * One recognized line: text, confidence and a box normalized (0-1) to the
+ * full image, origin top-left.
+ */
+public final class OcrLine {
+
+    public final String text;
+    public final float confidence;
+    public final double x;
+    public final double y;
+    public final double width;
+    public final double height;
+
+    public OcrLine(String text, float confidence, double x, double y, double width, double height) {
+        this.text = text;
+        this.confidence = confidence;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Intersection over union of the two boxes, 0 when they do not overlap. */
+    public static double iou(double ax, double ay, double aw, double ah,
+                             double bx, double by, double bw, double bh) {
+        double left = Math.max(ax, bx);
+        double top = Math.max(ay, by);
+        double right = Math.min(ax + aw, bx + bw);
+        double bottom = Math.min(ay + ah, by + bh);
+        if (right <= left || bottom <= top) return 0;
+        double intersection = (right - left) * (bottom - top);
+        double union = aw * ah + bw * bh - intersection;
+        return union > 0 ? intersection / union : 0;
+    }
+}
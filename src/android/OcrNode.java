@@ -0,0 +1,48 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * One node of the recognized text hierarchy — block, line, element (word)
+ * or symbol (character) — with a box normalized (0-1) to the full image.
+ *
+ * Node lists are kept in pre-order with each node's parent as an index into
+ * the same list, so the hierarchy survives being flattened into columns.
+ */
+public final class OcrNode {
+
+    public static final int BLOCK = 0;
+    public static final int LINE = 1;
+    public static final int ELEMENT = 2;
+    public static final int SYMBOL = 3;
+
+    public final int level;
+    /** Index of the parent node in the same list, -1 for blocks. */
+    public final int parent;
+    public final String text;
+    public final float confidence;
+    public final double x;
+    public final double y;
+    public final double width;
+    public final double height;
+
+    public OcrNode(int level, int parent, String text, float confidence,
+                   double x, double y, double width, double height) {
+        this.level = level;
+        this.parent = parent;
+        this.text = text;
+        this.confidence = confidence;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Level for a granularity option ("block", "line", "element", "symbol"); lines otherwise. */
+    public static int parseGranularity(String granularity) {
+        switch (granularity) {
+            case "block":   return BLOCK;
+            case "element": return ELEMENT;
+            case "symbol":  return SYMBOL;
+            default:        return LINE;
+        }
+    }
+}
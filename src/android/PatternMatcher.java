@@ -0,0 +1,54 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The target patterns of an auto-capture session: user regexes plus a few
+ * named field types.
+ */
+public final class PatternMatcher {
+
+    private static final Map<String, String> FIELD_TYPES = new HashMap<>();
+    static {
+        FIELD_TYPES.put("email", "[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+        FIELD_TYPES.put("phone", "\\+?\\d[\\d ()-]{6,}\\d");
+        FIELD_TYPES.put("url", "(https?://|www\\.)[^\\s]+");
+        FIELD_TYPES.put("date", "\\b(\\d{1,4}[-/.]\\d{1,2}[-/.]\\d{1,4})\\b");
+        FIELD_TYPES.put("number", "\\b\\d+([.,]\\d+)?\\b");
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    /** Adds a regex; throws IllegalArgumentException if it does not compile. */
+    public PatternMatcher addRegex(String regex) {
+        patterns.add(Pattern.compile(regex));
+        names.add(regex);
+        return this;
+    }
+
+    /** Adds a named field type (email, phone, url, date, number). */
+    public PatternMatcher addFieldType(String type) {
+        String regex = FIELD_TYPES.get(type);
+        if (regex == null) throw new IllegalArgumentException("Unknown field type: " + type);
+        patterns.add(Pattern.compile(regex));
+        names.add(type);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /** Name of the first pattern found in {@code text} (regex source or field type), or null. */
+    public String match(String text) {
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matcher(text).find()) return names.get(i);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.auphansoftware.cordova.visionocr;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import com.google.android.gms.tasks.Task;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns the plugin's ML Kit text recognizers — one client per option set,
+ * created on first use and kept until {@link #release()}.
+ *
+ * Creating a client and running its first inference loads the model, which
+ * is what makes the first OCR call after app start slow. {@link #warmUp}
+ * pays that cost up front with a tiny dummy image.
+ */
+public final class RecognizerManager {
+
+    /** Option set for the bundled Latin-script model. */
+    public static final String LATIN = "latin";
+
+    private static final int WARMUP_IMAGE_SIZE = 64;
+
+    private final Map<String, TextRecognizer> recognizers = new HashMap<>();
+
+    /** Recognizer for {@code optionSet}, created on first use. */
+    public synchronized TextRecognizer get(String optionSet) {
+        TextRecognizer recognizer = recognizers.get(optionSet);
+        if (recognizer == null) {
+            recognizer = TextRecognition.getClient(optionsFor(optionSet));
+            recognizers.put(optionSet, recognizer);
+        }
+        return recognizer;
+    }
+
+    /** Creates the recognizer if needed and runs one inference on a blank image. */
+    public Task<Text> warmUp(String optionSet) {
+        Bitmap blank = Bitmap.createBitmap(WARMUP_IMAGE_SIZE, WARMUP_IMAGE_SIZE, Bitmap.Config.ARGB_8888);
+        blank.eraseColor(Color.WHITE);
+        return get(optionSet).process(InputImage.fromBitmap(blank, 0));
+    }
+
+    /** Closes every recognizer. Later calls to {@link #get} create fresh ones. */
+    public synchronized void release() {
+        for (TextRecognizer recognizer : recognizers.values()) {
+            recognizer.close();
+        }
+        recognizers.clear();
+    }
+
+    private static TextRecognizerOptions optionsFor(String optionSet) {
+        // Only the Latin model is bundled (see visionocr.gradle)
+        return TextRecognizerOptions.DEFAULT_OPTIONS;
+    }
+}
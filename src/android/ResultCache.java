@@ -0,0 +1,105 @@
+package com.auphansoftware.cordova.visionocr;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+/**
+ * Content-addressed LRU cache for OCR results, bounded by an approximate
+ * byte budget rather than an entry count.
+ *
+ * Keys combine a hash of the encoded image bytes (see {@link #contentKey})
+ * with every option that affects the result, so re-submitting the same image
+ * skips decode and inference entirely.
+ */
+public final class ResultCache<V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long sizeBytes;
+
+        Entry(V value, long sizeBytes) {
+            this.value = value;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private long sizeBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public ResultCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 64-bit content hash of {@code data}: CRC32 and Adler32 side by side, both
+     * of which run at memory speed, plus the length.
+     */
+    public static String contentKey(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        Adler32 adler = new Adler32();
+        adler.update(data, 0, data.length);
+        return Long.toHexString(crc.getValue()) + Long.toHexString(adler.getValue()) + ":" + data.length;
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /** Stores a value; values larger than the whole budget are not cached. */
+    public synchronized void put(String key, V value, long valueBytes) {
+        if (valueBytes > maxBytes) return;
+        Entry<V> previous = entries.put(key, new Entry<>(value, valueBytes));
+        if (previous != null) sizeBytes -= previous.sizeBytes;
+        sizeBytes += valueBytes;
+
+        Iterator<Map.Entry<String, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            sizeBytes -= eldest.next().getValue().sizeBytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Drops every entry. Hit/miss/eviction counters are kept. */
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    /** Zeroes the hit/miss/eviction counters; entries are kept. */
+    public synchronized void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public synchronized long hits() { return hits; }
+
+    public synchronized long misses() { return misses; }
+
+    public synchronized long evictions() { return evictions; }
+
+    public synchronized int entryCount() { return entries.size(); }
+
+    public synchronized long sizeBytes() { return sizeBytes; }
+
+    public long maxBytes() { return maxBytes; }
+}
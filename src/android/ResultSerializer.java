@@ -0,0 +1,205 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Builds the JSON result objects sent to JS from recognized lines.
+ */
+public final class ResultSerializer {
+
+    /** Key of the child array a node of each level is listed under in its parent. */
+    private static final String[] CHILD_KEYS = { "blocks", "lines", "elements", "symbols" };
+
+    /** Rough heap size of one node object apart from its text: a map of boxed fields. */
+    static final int NODE_BYTES = 400;
+    private static final int RESULT_BYTES = 200;
+
+    /** Columns of columnar data, 4 bytes per node each: x, y, width, height, confidence, level, parent. */
+    public static final int COLUMNS = 7;
+
+    private ResultSerializer() {}
+
+    /** The recognizeText result shape: { imageWidth, imageHeight, blocks: [line...] }. */
+    public static JSONObject toJson(List<OcrLine> lines, int imageWidth, int imageHeight) throws JSONException {
+        JSONArray blocks = new JSONArray();
+        for (OcrLine line : lines) {
+            blocks.put(lineToJson(line));
+        }
+
+        JSONObject result = new JSONObject();
+        result.put("imageWidth", imageWidth);
+        result.put("imageHeight", imageHeight);
+        result.put("blocks", blocks);
+        return result;
+    }
+
+    /** Like {@link #toJson} for fused lines, each with its track id and frame count. */
+    public static JSONObject tracksToJson(List<LineTracker.Track> tracks, int imageWidth, int imageHeight)
+            throws JSONException {
+        JSONObject result = new JSONObject();
+        result.put("imageWidth", imageWidth);
+        result.put("imageHeight", imageHeight);
+        result.put("blocks", tracksToArray(tracks));
+        return result;
+    }
+
+    /** Live delta event: { delta: true, imageWidth, imageHeight, added, updated, removed }. */
+    public static JSONObject deltaToJson(DeltaEncoder.Delta delta, int imageWidth, int imageHeight)
+            throws JSONException {
+        JSONObject result = new JSONObject();
+        result.put("delta", true);
+        result.put("imageWidth", imageWidth);
+        result.put("imageHeight", imageHeight);
+        result.put("added", tracksToArray(delta.added));
+        result.put("updated", tracksToArray(delta.updated));
+        JSONArray removed = new JSONArray();
+        for (Long id : delta.removed) {
+            removed.put(id.longValue());
+        }
+        result.put("removed", removed);
+        return result;
+    }
+
+    private static JSONArray tracksToArray(List<LineTracker.Track> tracks) throws JSONException {
+        JSONArray lines = new JSONArray();
+        for (LineTracker.Track track : tracks) {
+            JSONObject lineObj = lineToJson(track.line());
+            lineObj.put("id", track.id);
+            lineObj.put("frames", track.observationCount());
+            lines.put(lineObj);
+        }
+        return lines;
+    }
+
+    /**
+     * recognizeText result for a node list down to some granularity. The
+     * top-level {@code blocks} array holds blocks when only blocks were
+     * extracted and lines otherwise (the default shape); deeper nodes are
+     * nested under {@code elements} and {@code symbols}.
+     */
+    public static JSONObject nodesToJson(List<OcrNode> nodes, int imageWidth, int imageHeight)
+            throws JSONException {
+        int rootLevel = OcrNode.BLOCK;
+        for (OcrNode node : nodes) {
+            if (node.level > OcrNode.BLOCK) {
+                rootLevel = OcrNode.LINE;
+                break;
+            }
+        }
+
+        JSONArray blocks = new JSONArray();
+        JSONObject[] objects = new JSONObject[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            OcrNode node = nodes.get(i);
+            if (node.level < rootLevel) continue;
+            JSONObject nodeObj = boxToJson(node.text, node.confidence, node.x, node.y, node.width, node.height);
+            objects[i] = nodeObj;
+            if (node.level == rootLevel) {
+                blocks.put(nodeObj);
+            } else {
+                JSONObject parent = objects[node.parent];
+                JSONArray children = parent.optJSONArray(CHILD_KEYS[node.level]);
+                if (children == null) {
+                    children = new JSONArray();
+                    parent.put(CHILD_KEYS[node.level], children);
+                }
+                children.put(nodeObj);
+            }
+        }
+
+        JSONObject result = new JSONObject();
+        result.put("imageWidth", imageWidth);
+        result.put("imageHeight", imageHeight);
+        result.put("blocks", blocks);
+        return result;
+    }
+
+    /**
+     * Header of a columnar result: { format: "columnar", imageWidth,
+     * imageHeight, count, text: [...] }, one text entry per node in the same
+     * order as {@link #columnarData}.
+     */
+    public static JSONObject columnarHeader(List<OcrNode> nodes, int imageWidth, int imageHeight)
+            throws JSONException {
+        JSONArray text = new JSONArray();
+        for (OcrNode node : nodes) {
+            text.put(node.text);
+        }
+
+        JSONObject result = new JSONObject();
+        result.put("format", "columnar");
+        result.put("imageWidth", imageWidth);
+        result.put("imageHeight", imageHeight);
+        result.put("count", nodes.size());
+        result.put("text", text);
+        return result;
+    }
+
+    /**
+     * Numeric columns of a columnar result, little-endian, one after the
+     * other with one value per node: x, y, width, height and confidence as
+     * float32, then level and parent index (-1 for blocks) as int32.
+     */
+    public static byte[] columnarData(List<OcrNode> nodes) {
+        int count = nodes.size();
+        int column = count * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(column * COLUMNS).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            OcrNode node = nodes.get(i);
+            int at = i * 4;
+            buffer.putFloat(at, (float) node.x);
+            buffer.putFloat(at + column, (float) node.y);
+            buffer.putFloat(at + 2 * column, (float) node.width);
+            buffer.putFloat(at + 3 * column, (float) node.height);
+            buffer.putFloat(at + 4 * column, node.confidence);
+            buffer.putInt(at + 5 * column, node.level);
+            buffer.putInt(at + 6 * column, node.parent);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Approximate heap size of a result from {@link #toJson} or
+     * {@link #nodesToJson}, counted from its nodes and text without
+     * serializing it. Used to charge results against the cache budget.
+     */
+    public static long estimateBytes(JSONObject result) {
+        return RESULT_BYTES + estimateBytes(result.optJSONArray("blocks"));
+    }
+
+    private static long estimateBytes(JSONArray nodes) {
+        if (nodes == null) return 0;
+        long bytes = 0;
+        for (int i = 0; i < nodes.length(); i++) {
+            JSONObject node = nodes.optJSONObject(i);
+            if (node == null) continue;
+            bytes += NODE_BYTES + 2L * node.optString("text").length();
+            for (int level = OcrNode.LINE; level < CHILD_KEYS.length; level++) {
+                bytes += estimateBytes(node.optJSONArray(CHILD_KEYS[level]));
+            }
+        }
+        return bytes;
+    }
+
+    public static JSONObject lineToJson(OcrLine line) throws JSONException {
+        return boxToJson(line.text, line.confidence, line.x, line.y, line.width, line.height);
+    }
+
+    private static JSONObject boxToJson(String text, float confidence, double x, double y,
+                                        double width, double height) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("text", text);
+        obj.put("confidence", (double) confidence);
+        obj.put("x", x);
+        obj.put("y", y);
+        obj.put("width", width);
+        obj.put("height", height);
+        return obj;
+    }
+}
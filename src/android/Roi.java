@@ -0,0 +1,121 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONObject;
+
+/**
+ * A region of interest in normalized (0-1) coordinates, origin top-left —
+ * the same space as the x/y/width/height fields of an OCR result.
+ *
+ * Converts between normalized and pixel rectangles, between sensor and
+ * upright orientation, and maps boxes found inside the region back to
+ * full-image coordinates.
+ */
+public final class Roi {
+
+    public final float x;
+    public final float y;
+    public final float width;
+    public final float height;
+
+    private Roi(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Region clipped to the unit square, or null if nothing of it is left. */
+    public static Roi of(double x, double y, double width, double height) {
+        float left = clamp((float) x);
+        float top = clamp((float) y);
+        float right = clamp((float) (x + width));
+        float bottom = clamp((float) (y + height));
+        if (right <= left || bottom <= top) return null;
+        return new Roi(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * Region from an options object ({@code { roi: { x, y, width, height } }}),
+     * or null when there is none or it covers the whole image.
+     */
+    public static Roi fromOptions(JSONObject options) {
+        JSONObject roi = options.optJSONObject("roi");
+        if (roi == null) return null;
+        Roi parsed = of(roi.optDouble("x", 0), roi.optDouble("y", 0),
+                roi.optDouble("width", 1), roi.optDouble("height", 1));
+        return parsed == null || parsed.isFull() ? null : parsed;
+    }
+
+    /** Normalized region of a pixel rectangle {@code {left, top, width, height}}. */
+    public static Roi fromPixels(int[] rect, int imageWidth, int imageHeight) {
+        return new Roi((float) rect[0] / imageWidth, (float) rect[1] / imageHeight,
+                (float) rect[2] / imageWidth, (float) rect[3] / imageHeight);
+    }
+
+    public boolean isFull() {
+        return x == 0f && y == 0f && width == 1f && height == 1f;
+    }
+
+    /**
+     * Pixel rectangle {@code {left, top, width, height}} covering this region,
+     * grown outward so every edge is a multiple of {@code alignment} (use 2
+     * for YUV 4:2:0 crops) and clipped to the image.
+     */
+    public int[] toPixels(int imageWidth, int imageHeight, int alignment) {
+        int left = floorTo((int) Math.floor(x * imageWidth), alignment);
+        int top = floorTo((int) Math.floor(y * imageHeight), alignment);
+        int right = Math.min(imageWidth, ceilTo((int) Math.ceil((x + width) * imageWidth), alignment));
+        int bottom = Math.min(imageHeight, ceilTo((int) Math.ceil((y + height) * imageHeight), alignment));
+        return new int[] { left, top, Math.max(right - left, alignment), Math.max(bottom - top, alignment) };
+    }
+
+    /**
+     * This region as seen after rotating the whole image clockwise by
+     * {@code degrees} (a multiple of 90). Sensor to upright uses the frame's
+     * rotation degrees; upright to sensor uses {@code 360 - degrees}.
+     */
+    public Roi rotatedClockwise(int degrees) {
+        switch (((degrees % 360) + 360) % 360) {
+            case 90:  return new Roi(1f - y - height, x, height, width);
+            case 180: return new Roi(1f - x - width, 1f - y - height, width, height);
+            case 270: return new Roi(y, 1f - x - width, height, width);
+            default:  return this;
+        }
+    }
+
+    /** Full-image x of a normalized x inside this region. */
+    public double mapX(double regionX) {
+        return x + regionX * width;
+    }
+
+    /** Full-image y of a normalized y inside this region. */
+    public double mapY(double regionY) {
+        return y + regionY * height;
+    }
+
+    public double mapWidth(double regionWidth) {
+        return regionWidth * width;
+    }
+
+    public double mapHeight(double regionHeight) {
+        return regionHeight * height;
+    }
+
+    @Override
+    public String toString() {
+        return x + "," + y + "," + width + "," + height;
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+
+    private static int floorTo(int value, int alignment) {
+        return value - (value % alignment);
+    }
+
+    private static int ceilTo(int value, int alignment) {
+        int remainder = value % alignment;
+        return remainder == 0 ? value : value + alignment - remainder;
+    }
+}
@@ -0,0 +1,159 @@
+package com.auphansoftware.cordova.visionocr;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency histograms per pipeline stage plus event counters, kept since the
+ * last {@link #reset()}.
+ *
+ * Each stage keeps its most recent {@link #WINDOW} durations in a ring, from
+ * which percentiles are computed on demand, and exact count/mean/max over
+ * everything recorded. Recording is a couple of array writes under a lock,
+ * cheap enough for every analyzer frame.
+ */
+public final class StageMetrics {
+
+    /** Durations kept per stage for percentiles. */
+    public static final int WINDOW = 1024;
+
+    private static final class Histogram {
+        final long[] samples = new long[WINDOW];
+        int next = 0;
+        long count = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+
+        void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW;
+            count++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+
+        JSONObject toJson() throws JSONException {
+            int size = (int) Math.min(count, WINDOW);
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+
+            JSONObject json = new JSONObject();
+            json.put("count", count);
+            json.put("meanMs", toMillis(totalNanos / Math.max(1, count)));
+            json.put("p50Ms", toMillis(percentile(sorted, 0.50)));
+            json.put("p95Ms", toMillis(percentile(sorted, 0.95)));
+            json.put("p99Ms", toMillis(percentile(sorted, 0.99)));
+            json.put("maxMs", toMillis(maxNanos));
+            return json;
+        }
+    }
+
+    /**
+     * Stage durations of one call, e.g. one recognizeText. Each
+     * {@link #lap} measures from the previous lap (or creation) and records
+     * into the shared histograms too.
+     */
+    public static final class Timer {
+        private final StageMetrics metrics;
+        private final String prefix;
+        private final Map<String, Long> laps = new LinkedHashMap<>();
+        private final long startNanos;
+        private long lastNanos;
+
+        Timer(StageMetrics metrics, String prefix) {
+            this.metrics = metrics;
+            this.prefix = prefix;
+            this.startNanos = System.nanoTime();
+            this.lastNanos = startNanos;
+        }
+
+        public void lap(String stage) {
+            long now = System.nanoTime();
+            long elapsed = now - lastNanos;
+            lastNanos = now;
+            laps.put(stage, elapsed);
+            metrics.record(prefix + stage, elapsed);
+        }
+
+        /** { stage: ms, ..., totalMs } for attaching to a result. */
+        public JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            for (Map.Entry<String, Long> lap : laps.entrySet()) {
+                json.put(lap.getKey() + "Ms", toMillis(lap.getValue()));
+            }
+            json.put("totalMs", toMillis(lastNanos - startNanos));
+            return json;
+        }
+    }
+
+    private final Map<String, Histogram> stages = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private long sinceNanos = System.nanoTime();
+
+    /** Timer whose laps are recorded as {@code prefix + stage}. */
+    public Timer startTimer(String prefix) {
+        return new Timer(this, prefix);
+    }
+
+    public synchronized void record(String stage, long nanos) {
+        Histogram histogram = stages.get(stage);
+        if (histogram == null) {
+            histogram = new Histogram();
+            stages.put(stage, histogram);
+        }
+        histogram.record(nanos);
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public synchronized void add(String counter, long delta) {
+        Long value = counters.get(counter);
+        counters.put(counter, (value != null ? value : 0L) + delta);
+    }
+
+    public synchronized long counter(String counter) {
+        Long value = counters.get(counter);
+        return value != null ? value : 0L;
+    }
+
+    public synchronized void reset() {
+        stages.clear();
+        counters.clear();
+        sinceNanos = System.nanoTime();
+    }
+
+    /** { sinceMs, stages: { name: { count, meanMs, p50Ms, p95Ms, p99Ms, maxMs } }, counters: { name: n } }. */
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONObject stagesJson = new JSONObject();
+        for (Map.Entry<String, Histogram> stage : stages.entrySet()) {
+            stagesJson.put(stage.getKey(), stage.getValue().toJson());
+        }
+        JSONObject countersJson = new JSONObject();
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            countersJson.put(counter.getKey(), counter.getValue().longValue());
+        }
+
+        JSONObject json = new JSONObject();
+        json.put("sinceMs", (System.nanoTime() - sinceNanos) / 1_000_000L);
+        json.put("stages", stagesJson);
+        json.put("counters", countersJson);
+        return json;
+    }
+
+    /** Nearest-rank percentile of an ascending array, 0 when empty. */
+    static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -4,17 +4,24 @@ import android.Manifest;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.pm.PackageManager;
+import android.content.res.Configuration;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ImageFormat;
 import android.graphics.Matrix;
+import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.YuvImage;
 import android.graphics.Typeface;
 import android.graphics.drawable.GradientDrawable;
-import android.util.Base64;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Size;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.MotionEvent;
@@ -27,6 +34,7 @@ import android.widget.Button;
 import android.widget.FrameLayout;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.camera.core.AspectRatio;
 import androidx.camera.core.Camera;
 import androidx.camera.core.CameraInfo;
@@ -34,25 +42,31 @@ import androidx.camera.core.CameraInfoUnavailableException;
 import androidx.camera.core.CameraSelector;
 import androidx.camera.core.FocusMeteringAction;
 import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.ImageCaptureException;
 import androidx.camera.core.ImageProxy;
 import androidx.camera.core.MeteringPoint;
 import androidx.camera.core.MeteringPointFactory;
 import androidx.camera.core.Preview;
+import androidx.camera.core.ResolutionInfo;
 import androidx.camera.core.ZoomState;
+import androidx.camera.core.resolutionselector.AspectRatioStrategy;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.camera.view.PreviewView;
 import androidx.core.content.ContextCompat;
 import androidx.lifecycle.LifecycleOwner;
 
+import com.google.android.gms.tasks.Tasks;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.mlkit.vision.common.InputImage;
 import com.google.mlkit.vision.text.Text;
-import com.google.mlkit.vision.text.TextRecognition;
 import com.google.mlkit.vision.text.TextRecognizer;
-import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
 
 import org.apache.cordova.CallbackContext;
 import org.apache.cordova.CordovaPlugin;
+import org.apache.cordova.CordovaResourceApi;
 import org.apache.cordova.PermissionHelper;
 import org.apache.cordova.PluginResult;
 import org.json.JSONArray;
@@ -60,38 +74,70 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 public class VisionOCR extends CordovaPlugin {
 
     private static final String TAG = "VisionOCR";
     private static final int CAMERA_PERMISSION_REQUEST = 100;
-    private static final int JPEG_QUALITY = 85;
-    private static final int CAMERA_WARMUP_MS = 1500;
+    private static final int INTERMEDIATE_JPEG_QUALITY = 95;
+    private static final int MAX_BATCH_CONCURRENCY = 4;
+    private static final int DEFAULT_TILE_OVERLAP = 128;
+    private static final int DEFAULT_TILE_CONCURRENCY = 2;
+    private static final int MIN_TILE_SIZE = 512;
+    private static final int DEFAULT_CACHE_BYTES = 2 * 1024 * 1024;
+    private static final int MAX_DEFAULT_BITMAP_POOL_BYTES = 24 * 1024 * 1024;
+    private static final Paint TRANSFORM_PAINT = new Paint(Paint.FILTER_BITMAP_FLAG);
 
     // Camera UI mode
     private enum UIMode { NONE, NATIVE_OVERLAY, BEHIND_WEBVIEW }
     private UIMode uiMode = UIMode.NONE;
 
+    // Stage timings and counters reported by getMetrics
+    private final StageMetrics metrics = new StageMetrics();
+
     // Shared camera state
     private ProcessCameraProvider cameraProvider;
     private Preview preview;
     private ImageAnalysis imageAnalysis;
+    private ImageCapture imageCapture;
     private PreviewView previewView;
     private CameraSelector cameraSelector;
     private Camera camera;
-    private volatile Bitmap latestFrame;
-    private volatile boolean cameraWarmedUp = false;
+    private final FrameStore frameStore = new FrameStore(new FrameBufferPool(3));
     private boolean isFrontCamera = false;
     private boolean isTorchOn = false;
     private float lastZoomRatio = 1.0f;
     private ExecutorService analysisExecutor;
+    private final CameraFrameSource cameraSource = new CameraFrameSource(metrics);
+    private AnalysisPipeline analysisPipeline;
     private OrientationEventListener orientationListener;
     private int currentDisplayRotation = Surface.ROTATION_0;
 
+    // Requested use-case resolutions, in sensor orientation; null = default
+    private Size analysisResolution;
+    private Size captureResolution;
+    private boolean bindImageCapture = false;
+
+    // Suspended session: camera and use cases still bound, preview detached,
+    // analysis paused, until it is resumed or the keep-alive runs out
+    private boolean cameraSuspended = false;
+    private String cameraConfig = "";
+    private int defaultKeepAliveMs = 0;
+    private int sessionKeepAliveMs = 0;
+    private final Runnable keepAliveExpired = this::teardownCamera;
+
     // Native overlay state
     private FrameLayout overlayContainer;
     private TextView statusLabel;
@@ -103,6 +149,40 @@ public class VisionOCR extends CordovaPlugin {
     // Native overlay callbacks
     private CallbackContext capturePhotoCallback;
     private CallbackContext openCameraCallback;
+    private FrameEncoding captureEncoding = FrameEncoding.DEFAULT;
+    private boolean captureInFlight = false;
+
+    // Live recognition state
+    private volatile CallbackContext liveCallback;
+    private volatile PatternMatcher livePatternMatcher;
+    private volatile FrameEncoding autoCaptureEncoding = FrameEncoding.DEFAULT;
+    private final FrameBufferPool rotateBufferPool = new FrameBufferPool(1);
+
+    // Encoded copies of the latest frame, per encoding, for repeated captures
+    private final EncodedFrameCache encodedFrames = new EncodedFrameCache();
+
+    // Decode targets and scaling/rotation canvases shared by the capture and OCR paths
+    private BitmapPool bitmapPool;
+    private final ComponentCallbacks2 memoryCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            trimMemory(level);
+        }
+
+        @Override
+        public void onLowMemory() {
+            trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+    };
+
+    // recognizeText results keyed by image content + options
+    private ResultCache<JSONObject> resultCache;
+
+    // Shared ML Kit recognizers
+    private final RecognizerManager recognizerManager = new RecognizerManager();
 
     // Behind-webview saved state
     private int savedWebViewBgColor = Color.WHITE;
@@ -112,6 +192,31 @@ public class VisionOCR extends CordovaPlugin {
     private String pendingAction;
     private JSONArray pendingArgs;
 
+    // =====================================================================
+    // Initialization
+    // =====================================================================
+
+    @Override
+    protected void pluginInitialize() {
+        // <preference name="VisionOCRCacheSize" value="bytes" />, 0 disables the cache
+        resultCache = new ResultCache<>(preferences.getInteger("VisionOCRCacheSize", DEFAULT_CACHE_BYTES));
+        // <preference name="VisionOCRCameraKeepAlive" value="ms" />, how long a closed camera stays suspended
+        defaultKeepAliveMs = preferences.getInteger("VisionOCRCameraKeepAlive", 0);
+        // <preference name="VisionOCRBitmapPoolSize" value="bytes" />, 0 disables bitmap reuse
+        bitmapPool = new BitmapPool(preferences.getInteger("VisionOCRBitmapPoolSize",
+                (int) Math.min(Runtime.getRuntime().maxMemory() / 8, MAX_DEFAULT_BITMAP_POOL_BYTES)));
+        cordova.getActivity().getApplicationContext().registerComponentCallbacks(memoryCallbacks);
+        // <preference name="VisionOCRCameraWarmupTimeout" value="ms" />, longest wait for exposure to settle
+        analysisPipeline = new AnalysisPipeline(frameStore, mlKitLineRecognizer(), metrics, cordova.getThreadPool(),
+                preferences.getInteger("VisionOCRCameraWarmupTimeout", (int) WarmupDetector.DEFAULT_TIMEOUT_MS));
+
+        // Load the OCR model in the background so the first recognizeText
+        // call does not pay for it. Opt out with <preference name="VisionOCRPrewarm" value="false" />
+        if (preferences.getBoolean("VisionOCRPrewarm", true)) {
+            cordova.getThreadPool().execute(() -> recognizerManager.warmUp(RecognizerManager.LATIN));
+        }
+    }
+
     // =====================================================================
     // Action dispatch
     // =====================================================================
@@ -119,18 +224,25 @@ public class VisionOCR extends CordovaPlugin {
     @Override
     public boolean execute(String action, JSONArray args, CallbackContext callbackContext) throws JSONException {
         switch (action) {
-            case "capturePhoto":   capturePhoto(callbackContext); return true;
-            case "openCamera":     openCamera(callbackContext); return true;
-            case "closeCamera":    closeCamera(callbackContext); return true;
+            case "capturePhoto":   capturePhoto(args, callbackContext); return true;
+            case "openCamera":     openCamera(args, callbackContext); return true;
+            case "closeCamera":    closeCamera(args, callbackContext); return true;
             case "updateStatus":   updateStatus(args, callbackContext); return true;
-            case "showPreview":    showPreview(callbackContext); return true;
-            case "hidePreview":    hidePreview(callbackContext); return true;
+            case "showPreview":    showPreview(args, callbackContext); return true;
+            case "hidePreview":    hidePreview(args, callbackContext); return true;
             case "switchCamera":   switchCamera(callbackContext); return true;
             case "setTorch":       setTorch(args, callbackContext); return true;
             case "setZoom":        setZoom(args, callbackContext); return true;
             case "focusAtPoint":   focusAtPoint(args, callbackContext); return true;
-            case "captureFrame":   captureFrame(callbackContext); return true;
+            case "captureFrame":   captureFrame(args, callbackContext); return true;
             case "recognizeText":  recognizeText(args, callbackContext); return true;
+            case "recognizeTextBatch": recognizeTextBatch(args, callbackContext); return true;
+            case "startLiveRecognition": startLiveRecognition(args, callbackContext); return true;
+            case "stopLiveRecognition":  stopLiveRecognition(callbackContext); return true;
+            case "warmUp":         warmUp(callbackContext); return true;
+            case "release":        release(callbackContext); return true;
+            case "clearCache":     clearCache(callbackContext); return true;
+            case "getMetrics":     getMetrics(args, callbackContext); return true;
             default: return false;
         }
     }
@@ -176,7 +288,36 @@ public class VisionOCR extends CordovaPlugin {
         void onReady();
     }
 
+    // Exposes its backing array so encoded bytes can be read without a copy
+    private static class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+        ReusableByteArrayOutputStream() {
+            super(64 * 1024);
+        }
+
+        ReusableByteArrayOutputStream(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
     private void setupCamera(final CameraReadyCallback onReady, final CallbackContext callbackContext) {
+        if (cameraSuspended) {
+            if (cameraConfig.equals(requestedCameraConfig())) {
+                resumeCamera(onReady);
+                return;
+            }
+            // Different use cases needed: start over, keeping the mode the caller just set
+            UIMode mode = uiMode;
+            String requestedMode = cameraMode;
+            uiMode = UIMode.NONE;
+            teardownCamera();
+            uiMode = mode;
+            cameraMode = requestedMode;
+        }
+
         final Activity activity = cordova.getActivity();
         ListenableFuture<ProcessCameraProvider> future = ProcessCameraProvider.getInstance(activity);
         future.addListener(() -> {
@@ -196,67 +337,55 @@ public class VisionOCR extends CordovaPlugin {
                         .setTargetRotation(displayRotation)
                         .build();
 
+                // Analysis and capture resolutions are chosen independently:
+                // a small analysis stream keeps live OCR fast while captured
+                // photos come from the full-resolution ImageCapture stream.
+                // ResolutionSelector sizes are in sensor orientation, so they
+                // don't depend on targetRotation either.
                 imageAnalysis = new ImageAnalysis.Builder()
-                        .setTargetAspectRatio(AspectRatio.RATIO_4_3)
+                        .setResolutionSelector(resolutionSelector(analysisResolution, null))
                         .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
                         .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_YUV_420_888)
                         .setTargetRotation(displayRotation)
                         .build();
 
-                // Clear stale frame before starting new session
-                latestFrame = null;
-                cameraWarmedUp = false;
+                imageCapture = bindImageCapture
+                        ? new ImageCapture.Builder()
+                                .setCaptureMode(ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY)
+                                .setJpegQuality(captureEncoding.quality)
+                                .setResolutionSelector(resolutionSelector(captureResolution,
+                                        ResolutionStrategy.HIGHEST_AVAILABLE_STRATEGY))
+                                .setTargetRotation(displayRotation)
+                                .build()
+                        : null;
+
+                // Clear stale frame and restart warm-up before starting new session
+                analysisPipeline.reset();
 
                 analysisExecutor = Executors.newSingleThreadExecutor();
-                imageAnalysis.setAnalyzer(analysisExecutor, imageProxy -> {
-                    // Skip frames until camera has warmed up to avoid stale ISP buffer
-                    if (cameraWarmedUp) {
-                        latestFrame = imageProxyToBitmap(imageProxy);
-                    }
-                    imageProxy.close();
-                });
+                imageAnalysis.setAnalyzer(analysisExecutor, cameraSource);
+                cameraSource.start(analysisPipeline);
 
                 cameraSelector = new CameraSelector.Builder()
                         .requireLensFacing(isFrontCamera ? CameraSelector.LENS_FACING_FRONT : CameraSelector.LENS_FACING_BACK)
                         .build();
 
+                cameraConfig = requestedCameraConfig();
+                metrics.increment("camera.opened");
+
                 activity.runOnUiThread(() -> {
-                    previewView = new PreviewView(activity);
-                    previewView.setImplementationMode(PreviewView.ImplementationMode.PERFORMANCE);
-                    previewView.setLayoutParams(new FrameLayout.LayoutParams(
-                            FrameLayout.LayoutParams.MATCH_PARENT,
-                            FrameLayout.LayoutParams.MATCH_PARENT));
+                    previewView = createPreviewView(activity);
 
                     cameraProvider.unbindAll();
-                    camera = cameraProvider.bindToLifecycle(
-                            (LifecycleOwner) activity,
-                            cameraSelector,
-                            preview,
-                            imageAnalysis
-                    );
+                    // Warm-up is timed from here, so it includes the wait for the first frame
+                    analysisPipeline.startWarmup();
+                    camera = bindUseCases((LifecycleOwner) activity);
                     preview.setSurfaceProvider(previewView.getSurfaceProvider());
 
                     camera.getCameraControl().setLinearZoom(0f);
                     lastZoomRatio = 1.0f;
 
-                    // Allow frames after warm-up to flush stale hardware buffers
-                    previewView.postDelayed(() -> cameraWarmedUp = true, CAMERA_WARMUP_MS);
-
-                    // Listen for device orientation changes and update targetRotation
-                    // so CameraX delivers correctly-rotated frames after rotation
-                    orientationListener = new OrientationEventListener(activity) {
-                        @Override
-                        public void onOrientationChanged(int orientation) {
-                            if (orientation == OrientationEventListener.ORIENTATION_UNKNOWN) return;
-                            int rotation = activity.getWindowManager().getDefaultDisplay().getRotation();
-                            if (rotation != currentDisplayRotation) {
-                                currentDisplayRotation = rotation;
-                                if (imageAnalysis != null) imageAnalysis.setTargetRotation(rotation);
-                                if (preview != null) preview.setTargetRotation(rotation);
-                            }
-                        }
-                    };
-                    orientationListener.enable();
+                    enableOrientationListener(activity);
 
                     if (onReady != null) onReady.onReady();
                 });
@@ -266,17 +395,114 @@ public class VisionOCR extends CordovaPlugin {
         }, ContextCompat.getMainExecutor(activity));
     }
 
-    private void teardownCamera() {
-        if (isTorchOn && camera != null) {
+    private static PreviewView createPreviewView(Activity activity) {
+        PreviewView view = new PreviewView(activity);
+        view.setImplementationMode(PreviewView.ImplementationMode.PERFORMANCE);
+        view.setLayoutParams(new FrameLayout.LayoutParams(
+                FrameLayout.LayoutParams.MATCH_PARENT,
+                FrameLayout.LayoutParams.MATCH_PARENT));
+        return view;
+    }
+
+    // Update targetRotation on device rotation so CameraX delivers upright frames
+    private void enableOrientationListener(final Activity activity) {
+        orientationListener = new OrientationEventListener(activity) {
+            @Override
+            public void onOrientationChanged(int orientation) {
+                if (orientation == OrientationEventListener.ORIENTATION_UNKNOWN) return;
+                int rotation = activity.getWindowManager().getDefaultDisplay().getRotation();
+                if (rotation != currentDisplayRotation) applyTargetRotation(rotation);
+            }
+        };
+        orientationListener.enable();
+    }
+
+    private void applyTargetRotation(int rotation) {
+        currentDisplayRotation = rotation;
+        if (imageAnalysis != null) imageAnalysis.setTargetRotation(rotation);
+        if (imageCapture != null) imageCapture.setTargetRotation(rotation);
+        if (preview != null) preview.setTargetRotation(rotation);
+    }
+
+    // Use cases a new session needs; a suspended session is reused only if they match
+    private String requestedCameraConfig() {
+        return analysisResolution + "|" + (bindImageCapture ? captureResolution + "|" + captureEncoding.quality : "-");
+    }
+
+    // End the session, or suspend it when a keep-alive is set
+    private void closeSession(int keepAliveMs) {
+        if (keepAliveMs > 0) {
+            suspendCamera(keepAliveMs);
+        } else {
+            teardownCamera();
+        }
+    }
+
+    // Detach the UI and stop live recognition but keep the bound camera for
+    // keepAliveMs, so reopening within that time skips rebinding and warm-up
+    private void suspendCamera(int keepAliveMs) {
+        if (camera == null || cameraSuspended) {
+            teardownCamera();
+            return;
+        }
+        if (isTorchOn) {
             camera.getCameraControl().enableTorch(false);
+            isTorchOn = false;
         }
+        stopLiveRecognitionInternal();
+        cameraSource.stop();
 
-        cordova.getActivity().runOnUiThread(() -> {
-            if (cameraProvider != null) {
+        final Preview suspendedPreview = preview;
+        cordova.getActivity().runOnUiThread(() -> suspendedPreview.setSurfaceProvider(null));
+        detachCameraUi();
+
+        cameraSuspended = true;
+        cameraMode = "";
+        uiMode = UIMode.NONE;
+        metrics.increment("camera.suspended");
+        cordova.getActivity().getWindow().getDecorView().postDelayed(keepAliveExpired, keepAliveMs);
+    }
+
+    // Reattach a suspended session to a new preview and restart analysis
+    private void resumeCamera(final CameraReadyCallback onReady) {
+        cordova.getActivity().getWindow().getDecorView().removeCallbacks(keepAliveExpired);
+        cameraSuspended = false;
+        metrics.increment("camera.resumed");
+
+        // The camera kept running, so exposure has settled: no new warm-up
+        analysisPipeline.resume();
+        cameraSource.start(analysisPipeline);
+
+        final Activity activity = cordova.getActivity();
+        activity.runOnUiThread(() -> {
+            previewView = createPreviewView(activity);
+            applyTargetRotation(activity.getWindowManager().getDefaultDisplay().getRotation());
+
+            if (isFrontCamera) {
+                // New sessions start on the back camera
+                isFrontCamera = false;
                 cameraProvider.unbindAll();
+                cameraSelector = new CameraSelector.Builder()
+                        .requireLensFacing(CameraSelector.LENS_FACING_BACK)
+                        .build();
+                camera = bindUseCases((LifecycleOwner) activity);
             }
+            preview.setSurfaceProvider(previewView.getSurfaceProvider());
+
+            camera.getCameraControl().setLinearZoom(0f);
+            lastZoomRatio = 1.0f;
 
-            if (uiMode == UIMode.NATIVE_OVERLAY) {
+            enableOrientationListener(activity);
+
+            if (onReady != null) onReady.onReady();
+        });
+    }
+
+    // Remove the native overlay or behind-webview preview; stop orientation tracking
+    private void detachCameraUi() {
+        final UIMode mode = uiMode;
+        cordova.getActivity().runOnUiThread(() -> {
+            if (mode == UIMode.NATIVE_OVERLAY) {
                 if (overlayContainer != null) {
                     ViewGroup parent = (ViewGroup) overlayContainer.getParent();
                     if (parent != null) parent.removeView(overlayContainer);
@@ -290,7 +516,7 @@ public class VisionOCR extends CordovaPlugin {
                     if (parent != null) parent.removeView(focusRingView);
                     focusRingView = null;
                 }
-            } else if (uiMode == UIMode.BEHIND_WEBVIEW) {
+            } else if (mode == UIMode.BEHIND_WEBVIEW) {
                 webView.getView().setBackgroundColor(savedWebViewBgColor);
                 if (previewView != null) {
                     ViewGroup parent = (ViewGroup) previewView.getParent();
@@ -305,15 +531,35 @@ public class VisionOCR extends CordovaPlugin {
             orientationListener.disable();
             orientationListener = null;
         }
+    }
+
+    private void teardownCamera() {
+        cordova.getActivity().getWindow().getDecorView().removeCallbacks(keepAliveExpired);
+        cameraSuspended = false;
+
+        if (isTorchOn && camera != null) {
+            camera.getCameraControl().enableTorch(false);
+        }
+
+        cordova.getActivity().runOnUiThread(() -> {
+            if (cameraProvider != null) {
+                cameraProvider.unbindAll();
+            }
+        });
+        detachCameraUi();
 
         if (analysisExecutor != null) {
             analysisExecutor.shutdown();
             analysisExecutor = null;
         }
 
+        cameraSource.stop();
+        stopLiveRecognitionInternal();
+
         camera = null;
-        latestFrame = null;
-        cameraWarmedUp = false;
+        imageCapture = null;
+        analysisPipeline.reset();
+        encodedFrames.clear();
         isTorchOn = false;
         lastZoomRatio = 1.0f;
         isFrontCamera = false;
@@ -328,12 +574,7 @@ public class VisionOCR extends CordovaPlugin {
             cameraSelector = new CameraSelector.Builder()
                     .requireLensFacing(isFrontCamera ? CameraSelector.LENS_FACING_FRONT : CameraSelector.LENS_FACING_BACK)
                     .build();
-            camera = cameraProvider.bindToLifecycle(
-                    (LifecycleOwner) cordova.getActivity(),
-                    cameraSelector,
-                    preview,
-                    imageAnalysis
-            );
+            camera = bindUseCases((LifecycleOwner) cordova.getActivity());
             preview.setSurfaceProvider(previewView.getSurfaceProvider());
 
             camera.getCameraControl().setLinearZoom(0f);
@@ -341,62 +582,228 @@ public class VisionOCR extends CordovaPlugin {
         });
     }
 
+    // Bind preview, analysis and (for capturePhoto) ImageCapture; if the device
+    // can't run all three, drop ImageCapture and capture from analysis frames
+    private Camera bindUseCases(LifecycleOwner owner) {
+        if (imageCapture != null) {
+            try {
+                return cameraProvider.bindToLifecycle(owner, cameraSelector, preview, imageAnalysis, imageCapture);
+            } catch (IllegalArgumentException e) {
+                cameraProvider.unbindAll();
+                imageCapture = null;
+            }
+        }
+        return cameraProvider.bindToLifecycle(owner, cameraSelector, preview, imageAnalysis);
+    }
+
+    // 4:3 selector bounded by size, or using fallback (null = CameraX default)
+    private static ResolutionSelector resolutionSelector(Size size, ResolutionStrategy fallback) {
+        ResolutionSelector.Builder builder = new ResolutionSelector.Builder()
+                .setAspectRatioStrategy(AspectRatioStrategy.RATIO_4_3_FALLBACK_AUTO_STRATEGY);
+        if (size != null) {
+            builder.setResolutionStrategy(new ResolutionStrategy(size,
+                    ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER));
+        } else if (fallback != null) {
+            builder.setResolutionStrategy(fallback);
+        }
+        return builder.build();
+    }
+
+    // options[key] as { width, height }, or null if absent or invalid
+    private static Size parseResolution(JSONObject options, String key) {
+        JSONObject size = options != null ? options.optJSONObject(key) : null;
+        if (size == null) return null;
+        int width = size.optInt("width", 0);
+        int height = size.optInt("height", 0);
+        return width > 0 && height > 0 ? new Size(width, height) : null;
+    }
+
+    // Session options shared by capturePhoto, openCamera and showPreview
+    private void configureSession(JSONObject options, boolean withImageCapture) {
+        analysisResolution = parseResolution(options, "analysisResolution");
+        captureResolution = parseResolution(options, "captureResolution");
+        bindImageCapture = withImageCapture;
+        sessionKeepAliveMs = keepAliveMs(options, defaultKeepAliveMs);
+    }
+
+    private static int keepAliveMs(JSONObject options, int fallback) {
+        return options != null ? Math.max(0, options.optInt("keepAliveMs", fallback)) : fallback;
+    }
+
+    // =====================================================================
+    // Frame analysis
+    // =====================================================================
+
+    // ML Kit behind the pipeline's LineRecognizer; results arrive on the Cordova thread pool
+    private LineRecognizer mlKitLineRecognizer() {
+        return (nv21, width, height, rotationDegrees, callback) -> {
+            boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+            int uprightWidth = swapped ? height : width;
+            int uprightHeight = swapped ? width : height;
+            recognizerManager.get(RecognizerManager.LATIN)
+                    .process(InputImage.fromByteArray(nv21, width, height, rotationDegrees,
+                            InputImage.IMAGE_FORMAT_NV21))
+                    .addOnSuccessListener(cordova.getThreadPool(), text ->
+                            callback.onSuccess(extractLines(text, uprightWidth, uprightHeight, 0, null)))
+                    .addOnFailureListener(cordova.getThreadPool(), callback::onFailure);
+        };
+    }
+
     // =====================================================================
     // Image helpers
     // =====================================================================
 
-    private Bitmap imageProxyToBitmap(ImageProxy imageProxy) {
+    // Base64 of a stored frame, reused from encodedFrames for the same frame generation
+    private String encodeFrame(FrameStore.Frame frame, FrameEncoding encoding) {
+        String cached = encodedFrames.get(frame.generation, encoding);
+        if (cached != null) return cached;
+        String encoded = encodeFrameUncached(frame, encoding);
+        if (encoded != null) encodedFrames.put(frame.generation, encoding, encoded);
+        return encoded;
+    }
+
+    // Full-size JPEG straight from NV21 with an EXIF orientation (or rotated NV21
+    // when upright); scaling, WebP and odd-sized rotations go through a bitmap
+    private String encodeFrameUncached(FrameStore.Frame frame, FrameEncoding encoding) {
+        StageMetrics.Timer timer = metrics.startTimer("frame.");
+        byte[] rotated = null;
         try {
-            ImageProxy.PlaneProxy[] planes = imageProxy.getPlanes();
-            ByteBuffer yBuffer = planes[0].getBuffer();
-            ByteBuffer uBuffer = planes[1].getBuffer();
-            ByteBuffer vBuffer = planes[2].getBuffer();
-
-            int ySize = yBuffer.remaining();
-            int uSize = uBuffer.remaining();
-            int vSize = vBuffer.remaining();
-
-            byte[] nv21 = new byte[ySize + uSize + vSize];
-            yBuffer.get(nv21, 0, ySize);
-            vBuffer.get(nv21, ySize, vSize);
-            uBuffer.get(nv21, ySize + vSize, uSize);
-
-            YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21,
-                    imageProxy.getWidth(), imageProxy.getHeight(), null);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            yuvImage.compressToJpeg(new Rect(0, 0, imageProxy.getWidth(), imageProxy.getHeight()), JPEG_QUALITY, out);
-
-            byte[] jpegBytes = out.toByteArray();
-            Bitmap bitmap = BitmapFactory.decodeByteArray(jpegBytes, 0, jpegBytes.length);
-
-            int rotation = imageProxy.getImageInfo().getRotationDegrees();
-            if (rotation != 0) {
-                Matrix matrix = new Matrix();
-                matrix.postRotate(rotation);
-                bitmap = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+            byte[] nv21 = frame.nv21;
+            int width = frame.width;
+            int height = frame.height;
+            int rotation = frame.rotationDegrees;
+            if (encoding.upright && rotation != 0 && Nv21Rotator.canRotate(width, height)) {
+                rotated = rotateBufferPool.acquire(Nv21Converter.nv21Size(width, height));
+                Nv21Rotator.rotate(nv21, width, height, rotation, rotated);
+                nv21 = rotated;
+                if (rotation % 180 != 0) {
+                    width = frame.height;
+                    height = frame.width;
+                }
+                rotation = 0;
+                timer.lap("rotate");
             }
 
-            return bitmap;
+            boolean reencode = needsReencode(width, height, rotation, encoding);
+
+            YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21, width, height, null);
+            ReusableByteArrayOutputStream out = new ReusableByteArrayOutputStream();
+            yuvImage.compressToJpeg(new Rect(0, 0, width, height),
+                    reencode ? INTERMEDIATE_JPEG_QUALITY : encoding.quality, out);
+            timer.lap("jpeg");
+
+            return finishEncoding(out.buffer(), out.size(), width, height, rotation, reencode, encoding, timer);
         } catch (Exception e) {
             return null;
+        } finally {
+            if (rotated != null) rotateBufferPool.release(rotated);
         }
     }
 
-    private String bitmapToBase64(Bitmap bitmap) {
-        if (bitmap == null) return null;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, baos);
-        return Base64.encodeToString(baos.toByteArray(), Base64.NO_WRAP);
+    // ImageCapture JPEG: passed through with an EXIF orientation unless it must be re-encoded
+    private String encodeStill(byte[] jpeg, int width, int height, int rotation, FrameEncoding encoding) {
+        StageMetrics.Timer timer = metrics.startTimer("still.");
+        try {
+            return finishEncoding(jpeg, jpeg.length, width, height, rotation,
+                    needsReencode(width, height, rotation, encoding), encoding, timer);
+        } catch (Exception e) {
+            return null;
+        }
     }
 
-    private Bitmap downscaleBitmap(Bitmap bitmap, int maxSize) {
-        int longestEdge = Math.max(bitmap.getWidth(), bitmap.getHeight());
-        if (longestEdge <= maxSize) return bitmap;
+    // Scaling, WebP or upright pixels all need a decode and re-encode
+    private static boolean needsReencode(int width, int height, int rotation, FrameEncoding encoding) {
+        boolean scale = encoding.maxDimension > 0 && Math.max(width, height) > encoding.maxDimension;
+        return !encoding.isJpeg() || scale || (rotation != 0 && encoding.upright);
+    }
+
+    // Re-encode through a subsampled bitmap if asked, else tag the EXIF orientation
+    private String finishEncoding(byte[] jpeg, int length, int width, int height, int rotation,
+                                  boolean reencode, FrameEncoding encoding, StageMetrics.Timer timer) {
+        if (reencode) {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = ImageMath.sampleSize(width, height, encoding.maxDimension);
+            Bitmap bitmap = decodePooled(jpeg, length, null, options, 4L
+                    * ImageMath.sampledDimension(width, options.inSampleSize)
+                    * ImageMath.sampledDimension(height, options.inSampleSize));
+            if (bitmap == null) throw new IllegalArgumentException("Not an image");
+            timer.lap("decode");
+
+            // Scaling and rotation in one draw, so only one more bitmap is needed
+            int[] target = ImageMath.fitWithin(width, height, encoding.maxDimension);
+            int turn = encoding.upright ? rotation : 0;
+            if (bitmap.getWidth() != target[0] || bitmap.getHeight() != target[1] || turn != 0) {
+                bitmap = transformPooled(bitmap, target[0], target[1], turn);
+                timer.lap(turn != 0 ? "rotate" : "scale");
+                if (turn != 0) rotation = 0;
+            }
+
+            ReusableByteArrayOutputStream out = new ReusableByteArrayOutputStream();
+            try {
+                bitmap.compress(compressFormat(encoding), encoding.quality, out);
+            } finally {
+                bitmapPool.put(bitmap);
+            }
+            timer.lap("compress");
+            jpeg = out.buffer();
+            length = out.size();
+        }
+
+        if (rotation != 0) {
+            byte[] tagged = JpegExif.withOrientation(jpeg, 0, length, JpegExif.orientationFor(rotation));
+            timer.lap("exif");
+            return Base64Codec.encode(tagged, 0, tagged.length);
+        }
+        return Base64Codec.encode(jpeg, 0, length);
+    }
+
+    // Decode into a free pooled bitmap when there is one; null if undecodable
+    private Bitmap decodePooled(byte[] data, int length, int[] region, BitmapFactory.Options options,
+                                long byteCount) {
+        options.inMutable = true;
+        options.inBitmap = bitmapPool.take(byteCount);
+        Bitmap bitmap;
+        try {
+            bitmap = decode(data, length, region, options);
+        } catch (IllegalArgumentException e) {
+            // inBitmap not compatible with this image — decode into a fresh bitmap
+            bitmapPool.put(options.inBitmap);
+            options.inBitmap = null;
+            bitmap = decode(data, length, region, options);
+        }
+        if (bitmap == null) bitmapPool.put(options.inBitmap);
+        return bitmap;
+    }
+
+    // Scale then rotate clockwise into a pooled bitmap; the source goes back to the pool
+    private Bitmap transformPooled(Bitmap source, int width, int height, int rotation) {
+        boolean swapped = rotation % 180 != 0;
+        Bitmap target = bitmapPool.obtain(swapped ? height : width, swapped ? width : height);
+        Matrix matrix = new Matrix();
+        matrix.setScale((float) width / source.getWidth(), (float) height / source.getHeight());
+        if (rotation != 0) {
+            matrix.postRotate(rotation);
+            switch (rotation) {
+                case 90:  matrix.postTranslate(height, 0); break;
+                case 180: matrix.postTranslate(width, height); break;
+                case 270: matrix.postTranslate(0, width); break;
+                default:  break;
+            }
+        }
+        // A pooled bitmap still holds its last image, which SRC_OVER would blend with
+        target.eraseColor(Color.TRANSPARENT);
+        new Canvas(target).drawBitmap(source, matrix, TRANSFORM_PAINT);
+        target.setHasAlpha(source.hasAlpha());
+        bitmapPool.put(source);
+        return target;
+    }
 
-        float scale = (float) maxSize / longestEdge;
-        int newWidth = Math.round(bitmap.getWidth() * scale);
-        int newHeight = Math.round(bitmap.getHeight() * scale);
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat compressFormat(FrameEncoding encoding) {
+        if (encoding.isJpeg()) return Bitmap.CompressFormat.JPEG;
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
     }
 
     // =====================================================================
@@ -432,16 +839,35 @@ public class VisionOCR extends CordovaPlugin {
         caps.put("position", isFrontCamera ? "front" : "back");
         caps.put("minZoom", (double) minZoom);
         caps.put("maxZoom", (double) maxZoom);
+        if (imageAnalysis != null) putResolution(caps, "analysisResolution", imageAnalysis.getResolutionInfo());
+        if (imageCapture != null) putResolution(caps, "captureResolution", imageCapture.getResolutionInfo());
         return caps;
     }
 
+    private static void putResolution(JSONObject caps, String key, ResolutionInfo info) throws JSONException {
+        if (info == null) return;
+        JSONObject size = new JSONObject();
+        size.put("width", info.getResolution().getWidth());
+        size.put("height", info.getResolution().getHeight());
+        caps.put(key, size);
+    }
+
     // =====================================================================
     // MODE 1: Native Overlay
     // =====================================================================
 
-    private void capturePhoto(final CallbackContext callbackContext) {
-        if (!ensureCameraPermission("capturePhoto", new JSONArray(), callbackContext)) return;
+    private void capturePhoto(JSONArray args, final CallbackContext callbackContext) {
+        if (!ensureCameraPermission("capturePhoto", args, callbackContext)) return;
 
+        JSONObject options = args.optJSONObject(0);
+        try {
+            captureEncoding = FrameEncoding.fromOptions(options);
+        } catch (IllegalArgumentException e) {
+            callbackContext.error(e.getMessage());
+            return;
+        }
+        configureSession(options, true);
+        captureInFlight = false;
         capturePhotoCallback = callbackContext;
         cameraMode = "manual";
         uiMode = UIMode.NATIVE_OVERLAY;
@@ -449,8 +875,29 @@ public class VisionOCR extends CordovaPlugin {
         setupCamera(() -> buildNativeOverlay("manual"), callbackContext);
     }
 
-    private void openCamera(final CallbackContext callbackContext) {
-        if (!ensureCameraPermission("openCamera", new JSONArray(), callbackContext)) return;
+    private void openCamera(JSONArray args, final CallbackContext callbackContext) {
+        if (!ensureCameraPermission("openCamera", args, callbackContext)) return;
+
+        JSONObject options = args.optJSONObject(0);
+        if (options == null) options = new JSONObject();
+        final JSONObject liveOptions = options;
+
+        // Auto-capture: with target patterns the native pipeline recognizes
+        // frames itself and only finishes the callback once one matches.
+        final PatternMatcher matcher;
+        try {
+            matcher = parsePatterns(options.optJSONArray("patterns"));
+        } catch (IllegalArgumentException e) {
+            callbackContext.error("Invalid pattern: " + e.getMessage());
+            return;
+        }
+        try {
+            autoCaptureEncoding = FrameEncoding.fromOptions(options);
+        } catch (IllegalArgumentException e) {
+            callbackContext.error(e.getMessage());
+            return;
+        }
+        configureSession(options, false);
 
         openCameraCallback = callbackContext;
         cameraMode = "auto";
@@ -461,11 +908,63 @@ public class VisionOCR extends CordovaPlugin {
             PluginResult result = new PluginResult(PluginResult.Status.OK, "Camera opened");
             result.setKeepCallback(true);
             callbackContext.sendPluginResult(result);
+
+            if (matcher != null) {
+                // Auto-capture matches against full results
+                liveOptions.remove("emit");
+                startLive(liveOptions, matcher, callbackContext);
+            }
         }, callbackContext);
     }
 
-    private void closeCamera(final CallbackContext callbackContext) {
-        teardownCamera();
+    // Regex strings and { type: "email" | ... } field types from JS; null if none
+    private static PatternMatcher parsePatterns(JSONArray patterns) {
+        if (patterns == null) return null;
+        PatternMatcher matcher = new PatternMatcher();
+        for (int i = 0; i < patterns.length(); i++) {
+            JSONObject fieldType = patterns.optJSONObject(i);
+            if (fieldType != null) {
+                matcher.addFieldType(fieldType.optString("type", ""));
+            } else {
+                matcher.addRegex(patterns.optString(i, ""));
+            }
+        }
+        return matcher.isEmpty() ? null : matcher;
+    }
+
+    // On a pattern match, send the line, pattern, recognized frame and result, then close
+    private void checkAutoCapture(CallbackContext callback, PatternMatcher matcher, JSONObject frameResult,
+                                  FrameStore.Frame frame) throws JSONException {
+        JSONArray blocks = frameResult.getJSONArray("blocks");
+        for (int i = 0; i < blocks.length(); i++) {
+            JSONObject line = blocks.getJSONObject(i);
+            String pattern = matcher.match(line.getString("text"));
+            if (pattern == null) continue;
+
+            synchronized (this) {
+                if (liveCallback != callback) return; // already matched on another frame
+                liveCallback = null;
+                livePatternMatcher = null;
+            }
+
+            String image = encodeFrame(frame, autoCaptureEncoding);
+
+            JSONObject match = new JSONObject();
+            match.put("text", line.getString("text"));
+            match.put("pattern", pattern);
+            match.put("line", line);
+            match.put("image", image);
+            match.put("result", frameResult);
+
+            cordova.getActivity().runOnUiThread(() -> closeSession(sessionKeepAliveMs));
+            openCameraCallback = null;
+            callback.success(match);
+            return;
+        }
+    }
+
+    private void closeCamera(JSONArray args, final CallbackContext callbackContext) {
+        closeSession(keepAliveMs(args.optJSONObject(0), sessionKeepAliveMs));
         openCameraCallback = null;
         capturePhotoCallback = null;
         callbackContext.success("Camera closed");
@@ -735,16 +1234,70 @@ public class VisionOCR extends CordovaPlugin {
     // =====================================================================
 
     private void onCaptureTapped() {
+        if (capturePhotoCallback == null || captureInFlight) return;
+        captureInFlight = true;
+        if (imageCapture != null) {
+            takePicture(imageCapture, capturePhotoCallback, captureEncoding);
+            return;
+        }
+        captureAnalysisFrame();
+    }
+
+    // Full-resolution still from ImageCapture; falls back to the latest analysis frame
+    private void takePicture(ImageCapture capture, final CallbackContext callback, final FrameEncoding encoding) {
+        capture.takePicture(cordova.getThreadPool(), new ImageCapture.OnImageCapturedCallback() {
+            @Override
+            public void onCaptureSuccess(@NonNull ImageProxy image) {
+                long encodeStart = System.nanoTime();
+                byte[] jpeg;
+                int width = image.getWidth();
+                int height = image.getHeight();
+                int rotation = image.getImageInfo().getRotationDegrees();
+                try {
+                    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+                    jpeg = new byte[buffer.remaining()];
+                    buffer.get(jpeg);
+                } finally {
+                    image.close();
+                }
+                if (capturePhotoCallback != callback) return; // cancelled meanwhile
+                cordova.getActivity().runOnUiThread(() -> closeSession(sessionKeepAliveMs));
+
+                String base64 = encodeStill(jpeg, width, height, rotation, encoding);
+                metrics.record("capturePhoto.encode", System.nanoTime() - encodeStart);
+                if (base64 != null) {
+                    callback.success(base64);
+                } else {
+                    callback.error("Failed to encode image");
+                }
+                capturePhotoCallback = null;
+            }
+
+            @Override
+            public void onError(@NonNull ImageCaptureException e) {
+                metrics.increment("capturePhoto.fallbacks");
+                cordova.getActivity().runOnUiThread(() -> captureAnalysisFrame());
+            }
+        });
+    }
+
+    private void captureAnalysisFrame() {
         // Small delay for frame stabilization, matching iOS 150ms
         cordova.getActivity().getWindow().getDecorView().postDelayed(() -> {
-            Bitmap frame = latestFrame;
-            if (frame == null || capturePhotoCallback == null) return;
+            if (capturePhotoCallback == null) return;
+            final FrameStore.Frame frame = frameStore.acquire();
+            if (frame == null) {
+                captureInFlight = false;
+                return;
+            }
 
             final CallbackContext callback = capturePhotoCallback;
-            teardownCamera();
+            final FrameEncoding encoding = captureEncoding;
+            closeSession(sessionKeepAliveMs);
 
             cordova.getThreadPool().execute(() -> {
-                String base64 = bitmapToBase64(frame);
+                String base64 = encodeFrame(frame, encoding);
+                frameStore.release(frame);
                 if (base64 != null) {
                     callback.success(base64);
                 } else {
@@ -758,14 +1311,14 @@ public class VisionOCR extends CordovaPlugin {
     private void onCancelTapped() {
         if ("manual".equals(cameraMode)) {
             CallbackContext callback = capturePhotoCallback;
-            teardownCamera();
+            closeSession(sessionKeepAliveMs);
             if (callback != null) {
                 callback.error("User cancelled");
             }
             capturePhotoCallback = null;
         } else {
             CallbackContext callback = openCameraCallback;
-            teardownCamera();
+            closeSession(sessionKeepAliveMs);
             if (callback != null) {
                 callback.error("User cancelled");
             }
@@ -854,9 +1407,10 @@ public class VisionOCR extends CordovaPlugin {
     // MODE 2: Behind-Webview
     // =====================================================================
 
-    private void showPreview(final CallbackContext callbackContext) {
-        if (!ensureCameraPermission("showPreview", new JSONArray(), callbackContext)) return;
+    private void showPreview(JSONArray args, final CallbackContext callbackContext) {
+        if (!ensureCameraPermission("showPreview", args, callbackContext)) return;
 
+        configureSession(args.optJSONObject(0), false);
         uiMode = UIMode.BEHIND_WEBVIEW;
 
         setupCamera(() -> {
@@ -882,8 +1436,8 @@ public class VisionOCR extends CordovaPlugin {
         }, callbackContext);
     }
 
-    private void hidePreview(final CallbackContext callbackContext) {
-        teardownCamera();
+    private void hidePreview(JSONArray args, final CallbackContext callbackContext) {
+        closeSession(keepAliveMs(args.optJSONObject(0), sessionKeepAliveMs));
         callbackContext.success();
     }
 
@@ -992,14 +1546,28 @@ public class VisionOCR extends CordovaPlugin {
     // Frame capture
     // =====================================================================
 
-    private void captureFrame(final CallbackContext callbackContext) {
+    private void captureFrame(JSONArray args, final CallbackContext callbackContext) {
+        final FrameEncoding encoding;
+        try {
+            encoding = FrameEncoding.fromOptions(args.optJSONObject(0));
+        } catch (IllegalArgumentException e) {
+            callbackContext.error(e.getMessage());
+            return;
+        }
         cordova.getThreadPool().execute(() -> {
-            Bitmap frame = latestFrame;
+            FrameStore.Frame frame = frameStore.acquire();
             if (frame == null) {
                 callbackContext.error("No frame available");
                 return;
             }
-            String base64 = bitmapToBase64(frame);
+            String base64;
+            try {
+                long encodeStart = System.nanoTime();
+                base64 = encodeFrame(frame, encoding);
+                metrics.record("captureFrame.encode", System.nanoTime() - encodeStart);
+            } finally {
+                frameStore.release(frame);
+            }
             if (base64 != null) {
                 callbackContext.success(base64);
             } else {
@@ -1013,78 +1581,136 @@ public class VisionOCR extends CordovaPlugin {
     // =====================================================================
 
     private void recognizeText(JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        String base64String = args.optString(0, "");
+        final String image = args.optString(0, "");
         JSONObject options = args.optJSONObject(1);
         if (options == null) options = new JSONObject();
 
         final int maxSize = options.optInt("maxSize", 0);
         final double minConfidence = options.optDouble("minConfidence", 0.5);
-
-        if (base64String.isEmpty()) {
+        final Roi roi = Roi.fromOptions(options);
+        final String level = options.optString("level", "accurate");
+        final int granularity = OcrNode.parseGranularity(options.optString("granularity", "line"));
+        final boolean columnar = "columnar".equals(options.optString("format", "json"));
+        // Columnar results are not JSON and are not cached
+        final boolean useCache = !columnar && options.optBoolean("cache", true) && resultCache.isEnabled();
+        final boolean timings = options.optBoolean("timings", false);
+        final int tileSize = options.optInt("tileSize", 0);
+        final int tileOverlap = Math.max(0, options.optInt("tileOverlap", DEFAULT_TILE_OVERLAP));
+        final int tileConcurrency = Math.max(1, Math.min(
+                options.optInt("tileConcurrency", DEFAULT_TILE_CONCURRENCY), MAX_BATCH_CONCURRENCY));
+
+        if (image.isEmpty()) {
             callbackContext.error("No image data provided");
             return;
         }
-
-        final byte[] imageBytes;
-        try {
-            imageBytes = Base64.decode(base64String, Base64.DEFAULT);
-        } catch (IllegalArgumentException e) {
-            callbackContext.error("Invalid image data");
-            return;
+        if (tileSize > 0) {
+            if (tileSize < MIN_TILE_SIZE) {
+                callbackContext.error("tileSize must be at least " + MIN_TILE_SIZE);
+                return;
+            }
+            if (columnar || granularity != OcrNode.LINE) {
+                callbackContext.error("tileSize supports only line granularity and JSON format");
+                return;
+            }
+            if (maxSize > 0) {
+                callbackContext.error("tileSize cannot be combined with maxSize");
+                return;
+            }
         }
 
         cordova.getThreadPool().execute(() -> {
-            Bitmap bitmap = BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-            if (bitmap == null) {
+            final StageMetrics.Timer timer = metrics.startTimer("recognizeText.");
+            final byte[] imageBytes;
+            try {
+                imageBytes = loadImageBytes(image);
+            } catch (IOException e) {
+                callbackContext.error("Could not read image file");
+                return;
+            } catch (IllegalArgumentException e) {
                 callbackContext.error("Invalid image data");
                 return;
             }
+            timer.lap("load");
+
+            final String cacheKey = useCache
+                    ? ResultCache.contentKey(imageBytes) + "|" + maxSize + "|" + minConfidence + "|" + level
+                            + "|" + roi + "|" + granularity + "|" + tileSize + "|" + tileOverlap
+                    : null;
+            if (cacheKey != null) {
+                JSONObject cached = resultCache.get(cacheKey);
+                timer.lap("cache");
+                if (cached != null) {
+                    try {
+                        callbackContext.success(timings ? withTimings(cached, timer) : cached);
+                    } catch (JSONException e) {
+                        callbackContext.error("Failed to build result: " + e.getMessage());
+                    }
+                    return;
+                }
+            }
 
-            if (maxSize > 0) {
-                bitmap = downscaleBitmap(bitmap, maxSize);
+            if (tileSize > 0) {
+                try {
+                    JSONObject tiled = recognizeTiled(imageBytes, roi, tileSize, tileOverlap, tileConcurrency,
+                            minConfidence, timer);
+                    if (tiled != null) {
+                        if (cacheKey != null) {
+                            resultCache.put(cacheKey, tiled, ResultSerializer.estimateBytes(tiled));
+                        }
+                        callbackContext.success(timings ? withTimings(tiled, timer) : tiled);
+                        return;
+                    }
+                    // Small enough for a single tile: recognize it as usual
+                } catch (IOException e) {
+                    callbackContext.error("Invalid image data");
+                    return;
+                } catch (ExecutionException e) {
+                    callbackContext.error(e.getCause().getLocalizedMessage());
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    callbackContext.error("Recognition interrupted");
+                    return;
+                } catch (JSONException e) {
+                    callbackContext.error("Failed to build result: " + e.getMessage());
+                    return;
+                }
+            }
+
+            final DecodedImage decoded = decodeBitmap(imageBytes, maxSize, roi, timer);
+            if (decoded == null) {
+                callbackContext.error("Invalid image data");
+                return;
             }
 
-            final int imageWidth = bitmap.getWidth();
-            final int imageHeight = bitmap.getHeight();
+            final int imageWidth = decoded.uprightWidth();
+            final int imageHeight = decoded.uprightHeight();
 
-            InputImage inputImage = InputImage.fromBitmap(bitmap, 0);
-            TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+            TextRecognizer recognizer = recognizerManager.get(RecognizerManager.LATIN);
 
-            recognizer.process(inputImage)
+            recognizer.process(decoded.toInputImage())
+                    .addOnCompleteListener(task -> bitmapPool.put(decoded.bitmap))
                     .addOnSuccessListener(text -> {
+                        timer.lap("recognize");
                         try {
-                            JSONArray blocks = new JSONArray();
-                            for (Text.TextBlock block : text.getTextBlocks()) {
-                                for (Text.Line line : block.getLines()) {
-                                    Float conf = line.getConfidence();
-                                    if (conf != null && conf < minConfidence) continue;
-                                    JSONObject lineObj = new JSONObject();
-                                    lineObj.put("text", line.getText());
-                                    lineObj.put("confidence",
-                                            (double) line.getConfidence());
-
-                                    Rect boundingBox = line.getBoundingBox();
-                                    if (boundingBox != null) {
-                                        lineObj.put("x", (double) boundingBox.left / imageWidth);
-                                        lineObj.put("y", (double) boundingBox.top / imageHeight);
-                                        lineObj.put("width", (double) boundingBox.width() / imageWidth);
-                                        lineObj.put("height", (double) boundingBox.height() / imageHeight);
-                                    } else {
-                                        lineObj.put("x", 0);
-                                        lineObj.put("y", 0);
-                                        lineObj.put("width", 0);
-                                        lineObj.put("height", 0);
-                                    }
-
-                                    blocks.put(lineObj);
-                                }
+                            if (columnar) {
+                                List<OcrNode> nodes = extractNodes(text, imageWidth, imageHeight,
+                                        minConfidence, decoded.roi, granularity);
+                                JSONObject header = ResultSerializer.columnarHeader(nodes,
+                                        fullWidth(imageWidth, decoded.roi), fullHeight(imageHeight, decoded.roi));
+                                byte[] data = ResultSerializer.columnarData(nodes);
+                                timer.lap("serialize");
+                                if (timings) header.put("timings", timer.toJson());
+                                sendColumnar(callbackContext, header, data);
+                                return;
                             }
-
-                            JSONObject result = new JSONObject();
-                            result.put("imageWidth", imageWidth);
-                            result.put("imageHeight", imageHeight);
-                            result.put("blocks", blocks);
-                            callbackContext.success(result);
+                            JSONObject result = buildResult(text, imageWidth, imageHeight, minConfidence,
+                                    decoded.roi, granularity);
+                            timer.lap("serialize");
+                            if (cacheKey != null) {
+                                resultCache.put(cacheKey, result, ResultSerializer.estimateBytes(result));
+                            }
+                            callbackContext.success(timings ? withTimings(result, timer) : result);
                         } catch (JSONException e) {
                             callbackContext.error("Failed to build result: " + e.getMessage());
                         }
@@ -1095,6 +1721,553 @@ public class VisionOCR extends CordovaPlugin {
         });
     }
 
+    // Recognize overlapping full-resolution tiles from one BitmapRegionDecoder on up to
+    // concurrency workers and merge them (see ImageTiler); null if one tile covers it
+    private JSONObject recognizeTiled(byte[] imageBytes, Roi roi, int tileSize, int overlap, int concurrency,
+                                      final double minConfidence, StageMetrics.Timer timer)
+            throws IOException, ExecutionException, InterruptedException, JSONException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) throw new IOException("Not an image");
+        final int width = bounds.outWidth;
+        final int height = bounds.outHeight;
+        final int rotation = JpegExif.rotationDegrees(JpegExif.readOrientation(imageBytes));
+
+        int[] region = roi != null
+                ? roi.rotatedClockwise(360 - rotation).toPixels(width, height, 1)
+                : new int[] { 0, 0, width, height };
+        if (Math.max(region[2], region[3]) <= tileSize) return null;
+
+        List<int[]> tiles = ImageTiler.plan(region, tileSize, overlap);
+        final BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(imageBytes, 0, imageBytes.length, false);
+        final TextRecognizer recognizer = recognizerManager.get(RecognizerManager.LATIN);
+        ExecutorService tileExecutor = Executors.newFixedThreadPool(Math.min(concurrency, tiles.size()));
+        try {
+            List<Future<List<OcrLine>>> pending = new ArrayList<>(tiles.size());
+            for (final int[] tile : tiles) {
+                pending.add(tileExecutor.submit(() ->
+                        recognizeTile(decoder, recognizer, tile, width, height, rotation, minConfidence)));
+            }
+            List<OcrLine> lines = new ArrayList<>();
+            for (Future<List<OcrLine>> tileLines : pending) {
+                lines.addAll(tileLines.get());
+            }
+            timer.lap("tiles");
+
+            List<OcrLine> merged = ImageTiler.merge(lines);
+            timer.lap("merge");
+            boolean swapped = rotation % 180 != 0;
+            JSONObject result = ResultSerializer.toJson(merged, swapped ? height : width, swapped ? width : height);
+            timer.lap("serialize");
+            return result;
+        } finally {
+            // Let running workers finish with the decoder before it is freed
+            tileExecutor.shutdownNow();
+            tileExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            decoder.recycle();
+        }
+    }
+
+    // Lines of one tile, boxes normalized to the full upright image
+    private List<OcrLine> recognizeTile(BitmapRegionDecoder decoder, TextRecognizer recognizer, int[] tile,
+                                        int width, int height, int rotation, double minConfidence)
+            throws ExecutionException, InterruptedException {
+        long decodeStart = System.nanoTime();
+        Rect rect = new Rect(tile[0], tile[1], tile[0] + tile[2], tile[1] + tile[3]);
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inMutable = true;
+        options.inBitmap = bitmapPool.take(4L * tile[2] * tile[3]);
+        Bitmap bitmap;
+        try {
+            bitmap = decoder.decodeRegion(rect, options);
+        } catch (IllegalArgumentException e) {
+            bitmapPool.put(options.inBitmap);
+            options.inBitmap = null;
+            bitmap = decoder.decodeRegion(rect, options);
+        }
+        if (bitmap == null) {
+            bitmapPool.put(options.inBitmap);
+            return new ArrayList<>();
+        }
+        metrics.record("recognizeText.tileDecode", System.nanoTime() - decodeStart);
+        try {
+            long recognizeStart = System.nanoTime();
+            Text text = Tasks.await(recognizer.process(InputImage.fromBitmap(bitmap, rotation)));
+            metrics.record("recognizeText.tileRecognize", System.nanoTime() - recognizeStart);
+            boolean swapped = rotation % 180 != 0;
+            Roi tileRoi = Roi.fromPixels(tile, width, height).rotatedClockwise(rotation);
+            return extractLines(text, swapped ? tile[3] : tile[2], swapped ? tile[2] : tile[3], minConfidence,
+                    tileRoi);
+        } finally {
+            bitmapPool.put(bitmap);
+        }
+    }
+
+    // Base64 string or file/content/cdvfile path read from disk; call off the WebView thread
+    private byte[] loadImageBytes(String image) throws IOException {
+        if (!ImageSource.isUri(image)) {
+            return Base64Codec.decode(image);
+        }
+
+        CordovaResourceApi resourceApi = webView.getResourceApi();
+        CordovaResourceApi.OpenForReadResult file = resourceApi.openForRead(resourceApi.remapUri(Uri.parse(image)));
+        try {
+            ReusableByteArrayOutputStream out = new ReusableByteArrayOutputStream(
+                    file.length > 0 ? (int) file.length : 64 * 1024);
+            byte[] chunk = new byte[16 * 1024];
+            int read;
+            while ((read = file.inputStream.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            return out.size() == out.buffer().length ? out.buffer() : out.toByteArray();
+        } finally {
+            file.inputStream.close();
+        }
+    }
+
+    // Decoded bitmap, clockwise rotation to upright (from EXIF), and the upright region it covers
+    private static final class DecodedImage {
+        final Bitmap bitmap;
+        final int rotationDegrees;
+        final Roi roi;
+
+        DecodedImage(Bitmap bitmap, int rotationDegrees, Roi roi) {
+            this.bitmap = bitmap;
+            this.rotationDegrees = rotationDegrees;
+            this.roi = roi;
+        }
+
+        InputImage toInputImage() {
+            return InputImage.fromBitmap(bitmap, rotationDegrees);
+        }
+
+        // Width ML Kit sees once the rotation is applied
+        int uprightWidth() {
+            return rotationDegrees % 180 == 0 ? bitmap.getWidth() : bitmap.getHeight();
+        }
+
+        int uprightHeight() {
+            return rotationDegrees % 180 == 0 ? bitmap.getHeight() : bitmap.getWidth();
+        }
+    }
+
+    // Bounds first, then a subsampled (or region) decode into pooled bitmaps; the EXIF
+    // orientation is passed to ML Kit as rotation rather than applied to the pixels
+    private DecodedImage decodeBitmap(byte[] imageBytes, int maxSize, Roi roi, StageMetrics.Timer timer) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null;
+        int rotation = JpegExif.rotationDegrees(JpegExif.readOrientation(imageBytes));
+
+        int[] region = roi != null
+                ? roi.rotatedClockwise(360 - rotation).toPixels(bounds.outWidth, bounds.outHeight, 1)
+                : new int[] { 0, 0, bounds.outWidth, bounds.outHeight };
+        Roi decodedRoi = roi != null
+                ? Roi.fromPixels(region, bounds.outWidth, bounds.outHeight).rotatedClockwise(rotation)
+                : null;
+
+        int sampleSize = ImageMath.sampleSize(region[2], region[3], maxSize);
+        int[] target = ImageMath.fitWithin(region[2], region[3], maxSize);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        Bitmap bitmap = decodePooled(imageBytes, imageBytes.length, decodedRoi != null ? region : null, options,
+                4L * ImageMath.sampledDimension(region[2], sampleSize)
+                        * ImageMath.sampledDimension(region[3], sampleSize));
+        if (bitmap == null) return null;
+        timer.lap("decode");
+
+        if (bitmap.getWidth() == target[0] && bitmap.getHeight() == target[1]) {
+            return new DecodedImage(bitmap, rotation, decodedRoi);
+        }
+        Bitmap scaled = transformPooled(bitmap, target[0], target[1], 0);
+        timer.lap("scale");
+        return new DecodedImage(scaled, rotation, decodedRoi);
+    }
+
+    private static Bitmap decode(byte[] data, int length, int[] region, BitmapFactory.Options options) {
+        if (region == null) {
+            return BitmapFactory.decodeByteArray(data, 0, length, options);
+        }
+        try {
+            BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(data, 0, length, false);
+            try {
+                return decoder.decodeRegion(new Rect(region[0], region[1],
+                        region[0] + region[2], region[1] + region[3]), options);
+            } finally {
+                decoder.recycle();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Boxes from a region of interest are mapped back to the full image
+    private JSONObject buildResult(Text text, int imageWidth, int imageHeight, double minConfidence, Roi roi,
+                                   int granularity) throws JSONException {
+        if (granularity == OcrNode.LINE) {
+            return ResultSerializer.toJson(extractLines(text, imageWidth, imageHeight, minConfidence, roi),
+                    fullWidth(imageWidth, roi), fullHeight(imageHeight, roi));
+        }
+        return ResultSerializer.nodesToJson(
+                extractNodes(text, imageWidth, imageHeight, minConfidence, roi, granularity),
+                fullWidth(imageWidth, roi), fullHeight(imageHeight, roi));
+    }
+
+    // Two-part message: JSON header, then the numeric columns as an ArrayBuffer
+    private static void sendColumnar(CallbackContext callbackContext, JSONObject header, byte[] data) {
+        List<PluginResult> parts = new ArrayList<>();
+        parts.add(new PluginResult(PluginResult.Status.OK, header));
+        parts.add(new PluginResult(PluginResult.Status.OK, data));
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, parts));
+    }
+
+    // Copy with timings so the cached result is never modified
+    private static JSONObject withTimings(JSONObject result, StageMetrics.Timer timer) throws JSONException {
+        JSONObject copy = new JSONObject();
+        Iterator<String> keys = result.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            copy.put(key, result.get(key));
+        }
+        copy.put("timings", timer.toJson());
+        return copy;
+    }
+
+    private static int fullWidth(int imageWidth, Roi roi) {
+        return roi != null ? Math.round(imageWidth / roi.width) : imageWidth;
+    }
+
+    private static int fullHeight(int imageHeight, Roi roi) {
+        return roi != null ? Math.round(imageHeight / roi.height) : imageHeight;
+    }
+
+    // Lines at or above minConfidence, boxes normalized to the full image
+    private static List<OcrLine> extractLines(Text text, int imageWidth, int imageHeight,
+                                              double minConfidence, Roi roi) {
+        List<OcrLine> lines = new ArrayList<>();
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            for (Text.Line line : block.getLines()) {
+                float conf = line.getConfidence();
+                if (conf < minConfidence) continue;
+
+                Rect boundingBox = line.getBoundingBox();
+                if (boundingBox == null) {
+                    lines.add(new OcrLine(line.getText(), conf, 0, 0, 0, 0));
+                    continue;
+                }
+                double x = (double) boundingBox.left / imageWidth;
+                double y = (double) boundingBox.top / imageHeight;
+                double width = (double) boundingBox.width() / imageWidth;
+                double height = (double) boundingBox.height() / imageHeight;
+                if (roi != null) {
+                    x = roi.mapX(x);
+                    y = roi.mapY(y);
+                    width = roi.mapWidth(width);
+                    height = roi.mapHeight(height);
+                }
+                lines.add(new OcrLine(line.getText(), conf, x, y, width, height));
+            }
+        }
+        return lines;
+    }
+
+    // Text hierarchy down to granularity, pre-order; low-confidence lines and emptied blocks dropped
+    private static List<OcrNode> extractNodes(Text text, int imageWidth, int imageHeight,
+                                              double minConfidence, Roi roi, int granularity) {
+        List<OcrNode> nodes = new ArrayList<>();
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            List<Text.Line> lines = new ArrayList<>();
+            StringBuilder blockText = new StringBuilder();
+            float confidenceSum = 0f;
+            for (Text.Line line : block.getLines()) {
+                if (line.getConfidence() < minConfidence) continue;
+                if (!lines.isEmpty()) blockText.append('\n');
+                blockText.append(line.getText());
+                confidenceSum += line.getConfidence();
+                lines.add(line);
+            }
+            if (lines.isEmpty()) continue;
+
+            int blockIndex = nodes.size();
+            nodes.add(toNode(OcrNode.BLOCK, -1, blockText.toString(), confidenceSum / lines.size(),
+                    block.getBoundingBox(), imageWidth, imageHeight, roi));
+            if (granularity == OcrNode.BLOCK) continue;
+
+            for (Text.Line line : lines) {
+                int lineIndex = nodes.size();
+                nodes.add(toNode(OcrNode.LINE, blockIndex, line.getText(), line.getConfidence(),
+                        line.getBoundingBox(), imageWidth, imageHeight, roi));
+                if (granularity == OcrNode.LINE) continue;
+
+                for (Text.Element element : line.getElements()) {
+                    int elementIndex = nodes.size();
+                    nodes.add(toNode(OcrNode.ELEMENT, lineIndex, element.getText(), element.getConfidence(),
+                            element.getBoundingBox(), imageWidth, imageHeight, roi));
+                    if (granularity == OcrNode.ELEMENT) continue;
+
+                    for (Text.Symbol symbol : element.getSymbols()) {
+                        nodes.add(toNode(OcrNode.SYMBOL, elementIndex, symbol.getText(), symbol.getConfidence(),
+                                symbol.getBoundingBox(), imageWidth, imageHeight, roi));
+                    }
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static OcrNode toNode(int level, int parent, String text, float confidence, Rect boundingBox,
+                                  int imageWidth, int imageHeight, Roi roi) {
+        if (boundingBox == null) return new OcrNode(level, parent, text, confidence, 0, 0, 0, 0);
+        double x = (double) boundingBox.left / imageWidth;
+        double y = (double) boundingBox.top / imageHeight;
+        double width = (double) boundingBox.width() / imageWidth;
+        double height = (double) boundingBox.height() / imageHeight;
+        if (roi != null) {
+            x = roi.mapX(x);
+            y = roi.mapY(y);
+            width = roi.mapWidth(width);
+            height = roi.mapHeight(height);
+        }
+        return new OcrNode(level, parent, text, confidence, x, y, width, height);
+    }
+
+    // =====================================================================
+    // OCR — recognizeTextBatch
+    // =====================================================================
+
+    private void recognizeTextBatch(JSONArray args, final CallbackContext callbackContext) {
+        final JSONArray images = args.optJSONArray(0);
+        JSONObject options = args.optJSONObject(1);
+        if (options == null) options = new JSONObject();
+
+        final int maxSize = options.optInt("maxSize", 0);
+        final double minConfidence = options.optDouble("minConfidence", 0.5);
+        final int concurrency = Math.max(1, Math.min(options.optInt("concurrency", 2), MAX_BATCH_CONCURRENCY));
+        final Roi roi = Roi.fromOptions(options);
+        final int granularity = OcrNode.parseGranularity(options.optString("granularity", "line"));
+
+        if (images == null || images.length() == 0) {
+            callbackContext.error("No image data provided");
+            return;
+        }
+
+        cordova.getThreadPool().execute(() -> runBatch(images, maxSize, minConfidence, roi, granularity,
+                concurrency, callbackContext));
+    }
+
+    // Decode up to concurrency images ahead while the current one is recognized; send in order
+    private void runBatch(JSONArray images, final int maxSize, double minConfidence, final Roi roi,
+                          int granularity, int concurrency, CallbackContext callbackContext) {
+        final int count = images.length();
+        ExecutorService decodeExecutor = Executors.newFixedThreadPool(concurrency);
+        ArrayDeque<Future<DecodedImage>> pending = new ArrayDeque<>(concurrency);
+        TextRecognizer recognizer = recognizerManager.get(RecognizerManager.LATIN);
+
+        try {
+            int next = 0;
+            for (int index = 0; index < count; index++) {
+                while (next < count && pending.size() < concurrency) {
+                    final String image = images.optString(next, "");
+                    pending.addLast(decodeExecutor.submit(() -> {
+                        if (image.isEmpty()) return null;
+                        StageMetrics.Timer timer = metrics.startTimer("recognizeTextBatch.");
+                        byte[] imageBytes = loadImageBytes(image);
+                        timer.lap("load");
+                        return decodeBitmap(imageBytes, maxSize, roi, timer);
+                    }));
+                    next++;
+                }
+
+                DecodedImage decoded;
+                try {
+                    decoded = pending.removeFirst().get();
+                } catch (ExecutionException e) {
+                    decoded = null; // malformed base64 or unreadable file
+                }
+
+                JSONObject item;
+                if (decoded == null) {
+                    item = new JSONObject().put("error", "Invalid image data");
+                } else {
+                    try {
+                        long recognizeStart = System.nanoTime();
+                        Text text = Tasks.await(recognizer.process(decoded.toInputImage()));
+                        metrics.record("recognizeTextBatch.recognize", System.nanoTime() - recognizeStart);
+                        item = buildResult(text, decoded.uprightWidth(), decoded.uprightHeight(), minConfidence,
+                                decoded.roi, granularity);
+                    } catch (ExecutionException e) {
+                        item = new JSONObject().put("error", e.getCause().getLocalizedMessage());
+                    } finally {
+                        bitmapPool.put(decoded.bitmap);
+                    }
+                }
+                item.put("index", index);
+
+                PluginResult result = new PluginResult(PluginResult.Status.OK, item);
+                result.setKeepCallback(true);
+                callbackContext.sendPluginResult(result);
+            }
+
+            JSONObject done = new JSONObject();
+            done.put("done", true);
+            done.put("count", count);
+            callbackContext.success(done);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            callbackContext.error("Batch interrupted");
+        } catch (JSONException e) {
+            callbackContext.error("Failed to build result: " + e.getMessage());
+        } finally {
+            decodeExecutor.shutdownNow();
+        }
+    }
+
+    // =====================================================================
+    // OCR — live recognition
+    // =====================================================================
+
+    private void startLiveRecognition(JSONArray args, final CallbackContext callbackContext) {
+        if (imageAnalysis == null) {
+            callbackContext.error("No active session");
+            return;
+        }
+        JSONObject options = args.optJSONObject(0);
+        if (options == null) options = new JSONObject();
+
+        startLive(options, null, callbackContext);
+
+        PluginResult result = new PluginResult(PluginResult.Status.NO_RESULT);
+        result.setKeepCallback(true);
+        callbackContext.sendPluginResult(result);
+    }
+
+    private void startLive(JSONObject options, PatternMatcher matcher, CallbackContext callbackContext) {
+        livePatternMatcher = matcher;
+        liveCallback = callbackContext;
+        analysisPipeline.start(options, this::onLiveResult);
+    }
+
+    private void onLiveResult(JSONObject frameResult, FrameStore.Frame frame) {
+        CallbackContext callback = liveCallback;
+        PatternMatcher matcher = livePatternMatcher;
+        if (callback == null) return;
+        if (matcher != null) {
+            try {
+                checkAutoCapture(callback, matcher, frameResult, frame);
+            } catch (JSONException e) { /* drop this frame */ }
+            return;
+        }
+        PluginResult result = new PluginResult(PluginResult.Status.OK, frameResult);
+        result.setKeepCallback(true);
+        callback.sendPluginResult(result);
+    }
+
+    private void stopLiveRecognition(CallbackContext callbackContext) {
+        stopLiveRecognitionInternal();
+        callbackContext.success();
+    }
+
+    private void stopLiveRecognitionInternal() {
+        analysisPipeline.stop();
+        liveCallback = null;
+        livePatternMatcher = null;
+    }
+
+    // =====================================================================
+    // OCR — recognizer lifecycle
+    // =====================================================================
+
+    private void warmUp(final CallbackContext callbackContext) {
+        recognizerManager.warmUp(RecognizerManager.LATIN)
+                .addOnSuccessListener(cordova.getThreadPool(), text -> callbackContext.success())
+                .addOnFailureListener(cordova.getThreadPool(), e -> callbackContext.error(e.getLocalizedMessage()));
+    }
+
+    private void release(CallbackContext callbackContext) {
+        recognizerManager.release();
+        callbackContext.success();
+    }
+
+    // =====================================================================
+    // OCR — result cache
+    // =====================================================================
+
+    private JSONObject getCacheStats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("hits", resultCache.hits());
+        stats.put("misses", resultCache.misses());
+        stats.put("evictions", resultCache.evictions());
+        stats.put("entries", resultCache.entryCount());
+        stats.put("bytes", resultCache.sizeBytes());
+        stats.put("maxBytes", resultCache.maxBytes());
+        return stats;
+    }
+
+    private void clearCache(CallbackContext callbackContext) throws JSONException {
+        JSONObject stats = getCacheStats();
+        resultCache.clear();
+        callbackContext.success(stats);
+    }
+
+    // =====================================================================
+    // Metrics
+    // =====================================================================
+
+    private void getMetrics(JSONArray args, CallbackContext callbackContext) throws JSONException {
+        JSONObject options = args.optJSONObject(0);
+        boolean reset = options != null && options.optBoolean("reset", false);
+
+        JSONObject result = metrics.toJson();
+        result.put("cache", getCacheStats());
+        JSONObject frameCache = new JSONObject();
+        frameCache.put("hits", encodedFrames.hits());
+        frameCache.put("misses", encodedFrames.misses());
+        result.put("frameCache", frameCache);
+        JSONObject pool = new JSONObject();
+        pool.put("hits", bitmapPool.hits());
+        pool.put("misses", bitmapPool.misses());
+        pool.put("evictions", bitmapPool.evictions());
+        pool.put("trims", bitmapPool.trims());
+        pool.put("entries", bitmapPool.entryCount());
+        pool.put("bytes", bitmapPool.sizeBytes());
+        pool.put("maxBytes", bitmapPool.maxBytes());
+        result.put("bitmapPool", pool);
+        JSONObject detector = new JSONObject();
+        FrameChangeDetector changeDetector = analysisPipeline.changeDetector();
+        detector.put("lastScore", changeDetector.lastScore());
+        detector.put("skippedFrames", changeDetector.skippedFrames());
+        result.put("changeDetector", detector);
+        JSONObject rate = new JSONObject();
+        AnalysisScheduler scheduler = analysisPipeline.scheduler();
+        rate.put("targetFps", scheduler.targetFps());
+        rate.put("currentFps", scheduler.currentFps());
+        rate.put("latencyMs", scheduler.latencyMs());
+        rate.put("started", scheduler.started());
+        rate.put("skippedBusy", scheduler.skippedBusy());
+        rate.put("skippedRate", scheduler.skippedThrottled());
+        result.put("scheduler", rate);
+        JSONObject warmup = new JSONObject();
+        WarmupDetector warmupDetector = analysisPipeline.warmupDetector();
+        warmup.put("ready", warmupDetector.isReady());
+        warmup.put("ms", warmupDetector.warmupMs());
+        warmup.put("frames", warmupDetector.frames());
+        warmup.put("reason", warmupDetector.reason().name().toLowerCase(Locale.ROOT));
+        result.put("warmup", warmup);
+        if (reset) {
+            // Counters start over; sizes, rates and warm-up state describe the present
+            metrics.reset();
+            resultCache.resetCounters();
+            encodedFrames.resetCounters();
+            bitmapPool.resetCounters();
+            changeDetector.resetCounters();
+            scheduler.resetCounters();
+        }
+        callbackContext.success(result);
+    }
+
     // =====================================================================
     // Lifecycle
     // =====================================================================
@@ -1102,5 +2275,19 @@ public class VisionOCR extends CordovaPlugin {
     @Override
     public void onDestroy() {
         teardownCamera();
+        recognizerManager.release();
+        cordova.getActivity().getApplicationContext().unregisterComponentCallbacks(memoryCallbacks);
+        bitmapPool.clear();
+    }
+
+    // Shrink the bitmap pool; in the background or when critical, also drop encoded frames and buffers
+    private void trimMemory(int level) {
+        bitmapPool.onTrimMemory(level);
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            encodedFrames.clear();
+            rotateBufferPool.clear();
+        }
+        metrics.increment("memory.trims");
     }
 }
@@ -0,0 +1,160 @@
+package com.auphansoftware.cordova.visionocr;
+
+/**
+ * Decides when a freshly opened camera delivers usable frames, from the
+ * frames themselves rather than a fixed delay.
+ *
+ * Right after the camera opens, auto-exposure and auto-white-balance are
+ * still converging and the first buffers may be black or stale, so the
+ * frame brightness swings from one frame to the next. Each frame's luma is
+ * sampled on a coarse grid and reduced to its mean and variance; the camera
+ * counts as ready once {@link #STABLE_FRAMES} consecutive frames stay within
+ * tolerance of the one before (and are not black), and at least
+ * {@code minFrames} frames have arrived. If that never happens — a dark or
+ * flickering scene — the timeout admits frames anyway. Allocates nothing
+ * per frame.
+ */
+public final class WarmupDetector {
+
+    public static final int DEFAULT_MIN_FRAMES = 3;
+    public static final long DEFAULT_TIMEOUT_MS = 1500;
+
+    /** Consecutive settled frames needed. */
+    static final int STABLE_FRAMES = 3;
+    /** Largest change of the mean between settled frames, in luma levels. */
+    static final double MEAN_TOLERANCE = 2.0;
+    /** Largest relative change of the variance between settled frames. */
+    static final double VARIANCE_TOLERANCE = 0.15;
+    /** Frames with a darker mean are never counted as settled. */
+    static final double DARK_MEAN = 12.0;
+
+    private static final int GRID_COLUMNS = 32;
+    private static final int GRID_ROWS = 24;
+
+    /** Why the camera was declared ready. */
+    public enum Reason { NONE, STABLE, TIMEOUT }
+
+    private int minFrames;
+    private long timeoutNanos;
+
+    private long startNanos = 0;
+    private boolean started = false;
+    private int frames = 0;
+    private int stableRun = 0;
+    private double lastMean = 0;
+    private double lastVariance = 0;
+    private Reason reason = Reason.NONE;
+    private long warmupNanos = 0;
+
+    /**
+     * @param minFrames frames to drop at least, however steady they look
+     * @param timeoutMs admit frames after this long even if they never settle; 0 = no warm-up at all
+     */
+    public WarmupDetector(int minFrames, long timeoutMs) {
+        configure(minFrames, timeoutMs);
+    }
+
+    public synchronized void configure(int minFrames, long timeoutMs) {
+        this.minFrames = Math.max(1, minFrames);
+        this.timeoutNanos = Math.max(0, timeoutMs) * 1_000_000L;
+        reset();
+    }
+
+    /** Starts over for a new camera session, timed from its first frame until {@link #start}. */
+    public synchronized void reset() {
+        started = false;
+        frames = 0;
+        stableRun = 0;
+        reason = Reason.NONE;
+        warmupNanos = 0;
+    }
+
+    /**
+     * Starts the warm-up clock, e.g. when the camera is bound, so the time
+     * until the first frame counts towards the warm-up and its timeout.
+     * Ignored once frames have arrived.
+     */
+    public synchronized void start(long nowNanos) {
+        if (frames > 0) return;
+        startNanos = nowNanos;
+        started = true;
+    }
+
+    /**
+     * Feeds one frame; true once the camera is ready, for this frame and
+     * every later one until {@link #reset}.
+     *
+     * @param luma      luma samples, row-major
+     * @param rowStride bytes between rows in {@code luma}
+     * @param nowNanos  arrival time, on the clock given to {@link #start}
+     */
+    public synchronized boolean update(byte[] luma, int rowStride, int width, int height, long nowNanos) {
+        if (reason != Reason.NONE) return true;
+        if (!started) {
+            startNanos = nowNanos;
+            started = true;
+        }
+        frames++;
+
+        if (timeoutNanos == 0) return ready(Reason.TIMEOUT, nowNanos);
+
+        // Mean and variance of a sample grid
+        long sum = 0;
+        long sumOfSquares = 0;
+        int samples = 0;
+        for (int row = 0; row < GRID_ROWS; row++) {
+            int y = (int) ((row * 2L + 1) * height / (GRID_ROWS * 2));
+            int rowStart = y * rowStride;
+            for (int column = 0; column < GRID_COLUMNS; column++) {
+                int x = (int) ((column * 2L + 1) * width / (GRID_COLUMNS * 2));
+                int value = luma[rowStart + x] & 0xFF;
+                sum += value;
+                sumOfSquares += value * value;
+                samples++;
+            }
+        }
+        double mean = (double) sum / samples;
+        double variance = Math.max(0, (double) sumOfSquares / samples - mean * mean);
+
+        boolean settled = frames > 1
+                && mean >= DARK_MEAN
+                && Math.abs(mean - lastMean) <= MEAN_TOLERANCE
+                && Math.abs(variance - lastVariance) <= VARIANCE_TOLERANCE * Math.max(variance, lastVariance);
+        stableRun = settled ? stableRun + 1 : 0;
+        lastMean = mean;
+        lastVariance = variance;
+
+        if (stableRun >= STABLE_FRAMES && frames > minFrames) return ready(Reason.STABLE, nowNanos);
+        if (nowNanos - startNanos >= timeoutNanos) return ready(Reason.TIMEOUT, nowNanos);
+        return false;
+    }
+
+    public synchronized boolean isReady() {
+        return reason != Reason.NONE;
+    }
+
+    /** Why the camera became ready, or {@link Reason#NONE} while warming up. */
+    public synchronized Reason reason() {
+        return reason;
+    }
+
+    /** From {@link #start} (or the first frame) to the first admitted frame; 0 while warming up. */
+    public synchronized long warmupNanos() {
+        return warmupNanos;
+    }
+
+    public synchronized double warmupMs() {
+        return warmupNanos / 1e6;
+    }
+
+    /** Frames seen this session up to and including the first admitted one. */
+    public synchronized int frames() {
+        return frames;
+    }
+
+    private boolean ready(Reason reason, long nowNanos) {
+        this.reason = reason;
+        warmupNanos = nowNanos - startNanos;
+        return true;
+    }
+}
@@ -7,18 +7,32 @@ var VisionOCR = function () {};
 // Plugin builds its own native UIView overlay with buttons and controls.
 
 // Manual mode: opens native camera overlay, returns base64 JPEG on capture.
-VisionOCR.capturePhoto = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "capturePhoto", []);
+// On Android the photo comes from a full-resolution ImageCapture stream.
+// options (Android): { format: "jpeg"|"webp", quality: 85, maxDimension: 0, upright: false,
+//                      captureResolution: { width, height }, analysisResolution: { width, height },
+//                      keepAliveMs: 0 }
+// By default the JPEG keeps sensor orientation and carries an EXIF orientation
+// tag; upright rotates the pixels (WebP is always upright).
+VisionOCR.capturePhoto = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "capturePhoto", [options || {}]);
 };
 
 // Auto mode: opens native camera overlay, returns immediately (keepCallback).
-VisionOCR.openCamera = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "openCamera", []);
+// options (Android): { patterns: [regex string | { type: "email"|"phone"|"url"|"date"|"number" }],
+//                      minConfidence: 0.5 } plus any startLiveRecognition option, and the
+//                      capturePhoto encoding options for the matched frame's image, and
+//                      analysisResolution and keepAliveMs.
+// With patterns, callback fires a second time — and the camera closes — once a
+// recognized line matches: { text, pattern, line, image, result }.
+VisionOCR.openCamera = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "openCamera", [options || {}]);
 };
 
 // Close native camera overlay and stop session.
-VisionOCR.closeCamera = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "closeCamera", []);
+// options (Android): { keepAliveMs } — keep the camera suspended this long so the
+// next open resumes instantly (defaults to the session's keepAliveMs).
+VisionOCR.closeCamera = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "closeCamera", [options || {}]);
 };
 
 // Update status label text on native auto mode overlay.
@@ -31,13 +45,16 @@ VisionOCR.updateStatus = function (text, callback, failure) {
 
 // Start camera preview behind webview (webview becomes transparent).
 // Callback receives capabilities: { hasTorch, hasMultipleCameras, position, minZoom, maxZoom }
-VisionOCR.showPreview = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "showPreview", []);
+// plus, on Android, analysisResolution: { width, height }.
+// options (Android): { analysisResolution: { width, height }, keepAliveMs: 0 }
+VisionOCR.showPreview = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "showPreview", [options || {}]);
 };
 
 // Stop camera preview and restore webview opacity.
-VisionOCR.hidePreview = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "hidePreview", []);
+// options (Android): { keepAliveMs } — see closeCamera.
+VisionOCR.hidePreview = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "hidePreview", [options || {}]);
 };
 
 // ---- Shared Controls (work in both modes) ----
@@ -62,16 +79,104 @@ VisionOCR.focusAtPoint = function (x, y, callback, failure) {
     return exec(callback, failure, "VisionOCR", "focusAtPoint", [x, y]);
 };
 
-// Grab latest frame as base64 JPEG from running camera session.
-VisionOCR.captureFrame = function (callback, failure) {
-    return exec(callback, failure, "VisionOCR", "captureFrame", []);
+// Grab latest frame as base64 JPEG (or WebP) from running camera session.
+// options (Android): { format, quality, maxDimension, upright } — see capturePhoto.
+// Repeated calls on an unchanged frame with the same options return the cached encoding.
+VisionOCR.captureFrame = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "captureFrame", [options || {}]);
 };
 
 // ---- OCR ----
 
-// options: { level: "fast"|"accurate", maxSize: 1920, minConfidence: 0.5 }
-VisionOCR.recognizeText = function (base64String, callback, failure, options) {
-    return exec(callback, failure, "VisionOCR", "recognizeText", [base64String, options || {}]);
+// image: base64 string, or (Android) a file://, content:// or cdvfile:// path.
+// options: { level: "fast"|"accurate", maxSize: 1920, minConfidence: 0.5,
+//            roi: { x, y, width, height } (normalized 0-1, Android), cache: true (Android),
+//            granularity: "block"|"line"|"element"|"symbol" (Android), format: "json"|"columnar" (Android),
+//            timings: false (Android; adds { loadMs, decodeMs, ..., totalMs } as result.timings),
+//            tileSize: 0, tileOverlap: 128, tileConcurrency: 2 (Android; recognize images larger than
+//            tileSize in overlapping full-resolution tiles; line granularity, JSON format
+//            and no maxSize only) }
+VisionOCR.recognizeText = function (image, callback, failure, options) {
+    var success = callback;
+    if (options && options.format === "columnar") {
+        // Native sends the text table and the packed columns as two parts
+        success = function (header, data) {
+            callback(unpackColumnar(header, data));
+        };
+    }
+    return exec(success, failure, "VisionOCR", "recognizeText", [image, options || {}]);
+};
+
+// Columnar result: one typed array per field, indexed by node. x, y, width,
+// height and confidence are Float32Arrays; level (0 block .. 3 symbol) and
+// parent (node index, -1 for blocks) are Int32Arrays.
+function unpackColumnar(header, data) {
+    var count = header.count;
+    var column = count * 4;
+    header.x = new Float32Array(data, 0, count);
+    header.y = new Float32Array(data, column, count);
+    header.width = new Float32Array(data, 2 * column, count);
+    header.height = new Float32Array(data, 3 * column, count);
+    header.confidence = new Float32Array(data, 4 * column, count);
+    header.level = new Int32Array(data, 5 * column, count);
+    header.parent = new Int32Array(data, 6 * column, count);
+    return header;
+}
+
+// OCR several images (base64 strings or paths, as for recognizeText); decode of the next image overlaps recognition of the current one.
+// callback fires once per image, in order, with a recognizeText result plus `index`
+// (or { index, error }), then once more with { done: true, count }.
+// options: { maxSize: 1920, minConfidence: 0.5, roi: {...}, granularity: "line", concurrency: 2 }
+VisionOCR.recognizeTextBatch = function (images, callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "recognizeTextBatch", [images, options || {}]);
+};
+
+// Load the OCR model ahead of the first recognizeText call (Android).
+// The plugin already does this at startup unless the VisionOCRPrewarm preference is false.
+VisionOCR.warmUp = function (callback, failure) {
+    return exec(callback, failure, "VisionOCR", "warmUp", []);
+};
+
+// Release the OCR model's native resources (Android). The next OCR call reloads it.
+VisionOCR.release = function (callback, failure) {
+    return exec(callback, failure, "VisionOCR", "release", []);
+};
+
+// Empty the recognizeText result cache (Android). Returns the cache counters
+// from before clearing: { hits, misses, evictions, entries, bytes, maxBytes }.
+VisionOCR.clearCache = function (callback, failure) {
+    return exec(callback, failure, "VisionOCR", "clearCache", []);
+};
+
+// Stage latency percentiles and counters since the last reset (Android):
+// { sinceMs, stages: { name: { count, meanMs, p50Ms, p95Ms, p99Ms, maxMs } }, counters, cache, frameCache,
+//   bitmapPool: { hits, misses, evictions, trims, entries, bytes, maxBytes }, changeDetector,
+//   scheduler: { targetFps, currentFps, latencyMs, started, skippedBusy, skippedRate },
+//   warmup: { ready, ms, frames, reason } }
+// warmup describes the current camera session: how long after binding the camera
+// the first frame was used (frames are dropped while exposure settles), and
+// whether it settled ("stable") or timed out.
+// options: { reset: false } — reset starts a new measurement window after reading.
+VisionOCR.getMetrics = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "getMetrics", [options || {}]);
+};
+
+// ---- Live OCR (Android) ----
+
+// Continuous recognition on the running camera session. callback fires with a
+// recognizeText-shaped result for every recognized frame (keepCallback).
+// options: { minConfidence: 0.5, roi: { x, y, width, height },
+//            changeThreshold: 4, refreshIntervalMs: 2000, fusionFrames: 0,
+//            targetFps: 10, adaptiveRate: true, emit: "full"|"delta" }
+// With emit: "delta", events are { delta: true, added: [line], updated: [line], removed: [id] }
+// and every line carries a stable `id`.
+VisionOCR.startLiveRecognition = function (callback, failure, options) {
+    return exec(callback, failure, "VisionOCR", "startLiveRecognition", [options || {}]);
+};
+
+// Stop live recognition. The camera session keeps running.
+VisionOCR.stopLiveRecognition = function (callback, failure) {
+    return exec(callback, failure, "VisionOCR", "stopLiveRecognition", []);
 };
 
 module.exports = VisionOCR;